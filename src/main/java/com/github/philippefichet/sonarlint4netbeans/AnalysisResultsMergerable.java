@@ -41,7 +41,7 @@ public final class AnalysisResultsMergerable extends AnalysisResults {
     {
         indexedFileCount += analysisResults.indexedFileCount();
         failedAnalysisFiles.addAll(analysisResults.failedAnalysisFiles());
-        languagePerFile.putAll(languagePerFile);
+        languagePerFile.putAll(analysisResults.languagePerFile());
         return this;
     }
 
@@ -52,12 +52,12 @@ public final class AnalysisResultsMergerable extends AnalysisResults {
 
     @Override
     public Collection<ClientInputFile> failedAnalysisFiles() {
-        return failedAnalysisFiles;
+        return new ArrayList<>(failedAnalysisFiles);
     }
 
     @Override
     public Map<ClientInputFile, Language> languagePerFile() {
-        return languagePerFile;
+        return new HashMap<>(languagePerFile);
     }
     
 }
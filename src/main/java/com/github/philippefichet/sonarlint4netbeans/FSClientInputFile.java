@@ -24,13 +24,15 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.nio.charset.Charset;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import org.sonarsource.sonarlint.core.analysis.api.ClientInputFile;
 
 /**
- *
+ * ClientInputFile backed by a content in memory (unsaved editor buffer)
+ * or by the file on disk, read only when the analyzer requests it.
  * @author FICHET Philippe
  */
 public class FSClientInputFile implements ClientInputFile {
@@ -42,6 +44,25 @@ public class FSClientInputFile implements ClientInputFile {
     private final String content;
     private final List<ClientInputFileListener> clientInputFileURIEvents = new ArrayList<>();
 
+    /**
+     * Create a ClientInputFile reading its content from disk on demand
+     * @param path path of file
+     * @param relativePath relative path of file
+     * @param isTest true if file is a test file
+     * @param encoding encoding of file
+     */
+    public FSClientInputFile(Path path, String relativePath, boolean isTest, Charset encoding) {
+        this(null, path, relativePath, isTest, encoding);
+    }
+
+    /**
+     * Create a ClientInputFile with a content in memory
+     * @param content content to analyze, if null then content is read from disk on demand
+     * @param path path of file
+     * @param relativePath relative path of file
+     * @param isTest true if file is a test file
+     * @param encoding encoding of file
+     */
     public FSClientInputFile(String content, Path path, String relativePath, boolean isTest, Charset encoding) {
         this.content = content;
         this.path = path;
@@ -74,15 +95,25 @@ public class FSClientInputFile implements ClientInputFile {
     @Override
     public InputStream inputStream() throws IOException {
         consumePathURI();
-        return new ByteArrayInputStream(content.getBytes());
+        if (content == null) {
+            return Files.newInputStream(path);
+        }
+        return new ByteArrayInputStream(content.getBytes(getCharsetOrDefault()));
     }
 
     @Override
     public String contents() throws IOException {
         consumePathURI();
+        if (content == null) {
+            return new String(Files.readAllBytes(path), getCharsetOrDefault());
+        }
         return content;
     }
 
+    private Charset getCharsetOrDefault() {
+        return encoding == null ? Charset.defaultCharset() : encoding;
+    }
+
     @Override
     public String relativePath() {
         return relativePath;
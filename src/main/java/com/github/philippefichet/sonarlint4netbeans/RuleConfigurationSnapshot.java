@@ -0,0 +1,113 @@
+/*
+ * sonarlint4netbeans: SonarLint integration for Apache Netbeans
+ * Copyright (C) 2023 Philippe FICHET.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package com.github.philippefichet.sonarlint4netbeans;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.sonarsource.sonarlint.core.commons.RuleKey;
+
+/**
+ * Immutable rule configuration of a project (excluded and included rules, rule parameters and extra properties),
+ * built once by the engine and replaced when configuration changes.
+ * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
+ */
+public final class RuleConfigurationSnapshot {
+
+    private final Set<RuleKey> excludedRules;
+    private final Set<String> excludedRuleKeys;
+    private final List<RuleKey> includedRules;
+    private final Map<RuleKey, Map<String, String>> ruleParameters;
+    private final Map<String, String> extraProperties;
+    private final String rulesFingerprint;
+    private final String extraPropertiesFingerprint;
+
+    /**
+     * Create a snapshot of rule configuration
+     * @param excludedRules excluded rules
+     * @param includedRules included rules
+     * @param ruleParameters customized rule parameters
+     * @param extraProperties merged extra properties with variables replaced
+     */
+    public RuleConfigurationSnapshot(
+        Collection<RuleKey> excludedRules,
+        Collection<RuleKey> includedRules,
+        Map<RuleKey, Map<String, String>> ruleParameters,
+        Map<String, String> extraProperties
+    ) {
+        this.excludedRules = Collections.unmodifiableSet(new HashSet<>(excludedRules));
+        Set<String> keys = new HashSet<>();
+        excludedRules.forEach(ruleKey -> keys.add(ruleKey.toString()));
+        this.excludedRuleKeys = Collections.unmodifiableSet(keys);
+        this.includedRules = Collections.unmodifiableList(new ArrayList<>(includedRules));
+        Map<RuleKey, Map<String, String>> copyOfRuleParameters = new HashMap<>();
+        ruleParameters.forEach((ruleKey, params) -> copyOfRuleParameters.put(ruleKey, Collections.unmodifiableMap(new HashMap<>(params))));
+        this.ruleParameters = Collections.unmodifiableMap(copyOfRuleParameters);
+        this.extraProperties = Collections.unmodifiableMap(new HashMap<>(extraProperties));
+        this.rulesFingerprint = SonarLintIssueCache.rulesFingerprint(this.excludedRules, this.includedRules, this.ruleParameters);
+        this.extraPropertiesFingerprint = SonarLintIssueCache.extraPropertiesFingerprint(this.extraProperties);
+    }
+
+    public Set<RuleKey> getExcludedRules() {
+        return excludedRules;
+    }
+
+    /**
+     * Check if rule is excluded
+     * @param ruleKey rule key (ex: java:S108)
+     * @return true if rule is excluded
+     */
+    public boolean isExcluded(String ruleKey) {
+        return excludedRuleKeys.contains(ruleKey);
+    }
+
+    public List<RuleKey> getIncludedRules() {
+        return includedRules;
+    }
+
+    public Map<RuleKey, Map<String, String>> getRuleParameters() {
+        return ruleParameters;
+    }
+
+    public Map<String, String> getExtraProperties() {
+        return extraProperties;
+    }
+
+    /**
+     * Fingerprint of excluded rules, included rules and rule parameters
+     * @return fingerprint of rules
+     */
+    public String getRulesFingerprint() {
+        return rulesFingerprint;
+    }
+
+    /**
+     * Fingerprint of extra properties
+     * @return fingerprint of extra properties
+     */
+    public String getExtraPropertiesFingerprint() {
+        return extraPropertiesFingerprint;
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * sonarlint4netbeans: SonarLint integration for Apache Netbeans
+ * Copyright (C) 2023 Philippe FICHET.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package com.github.philippefichet.sonarlint4netbeans;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import org.sonarsource.sonarlint.core.commons.progress.CanceledException;
+import org.sonarsource.sonarlint.core.commons.progress.ClientProgressMonitor;
+
+/**
+ * Admission control of analyses sent to engine.
+ * Analyses run in caller thread once admitted, with a limit of running analyses for all priorities.
+ * One place is always kept for each higher priority: task list analyses cannot take the last place kept for editor
+ * and background analyses cannot take the last two places kept for editor and task list.
+ * An analysis waits while an analysis of higher priority is waiting and can run.
+ * Number of waiting analyses is bounded by priority: editor analyses are rejected, others wait a place in queue.
+ * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
+ */
+public final class SonarLintAnalysisExecutor {
+
+    // Interval to check if a waiting analysis is canceled
+    private static final long CANCELLATION_CHECK_MILLIS = 100;
+
+    public enum Priority {
+        /**
+         * Analysis of a file visible in editor
+         */
+        EDITOR,
+        /**
+         * Analysis for Action Items
+         */
+        TASK_LIST,
+        /**
+         * Analysis of many files (deep analysis)
+         */
+        BACKGROUND
+    }
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final int maxRunning;
+    private final int[] maxWaitingByPriority;
+    private final int[] runningByPriority = new int[Priority.values().length];
+    private final int[] waitingByPriority = new int[Priority.values().length];
+    private int running;
+
+    /**
+     * Create executor with limits computed from maximum number of analyses running at same time
+     * @param maxRunning maximum number of analyses running at same time, at least one by priority
+     */
+    public SonarLintAnalysisExecutor(int maxRunning) {
+        if (maxRunning < Priority.values().length) {
+            throw new IllegalArgumentException("At least " + Priority.values().length + " analyses must be able to run, one is kept for each priority");
+        }
+        this.maxRunning = maxRunning;
+        maxWaitingByPriority = new int[] {
+            16,
+            256,
+            maxRunning * 2
+        };
+    }
+
+    /**
+     * Run an analysis in current thread when admitted
+     * @param <T> result of analysis
+     * @param priority priority of analysis
+     * @param monitor monitor checking if the analysis is canceled while waiting, can be null
+     * @param analysis analysis to run
+     * @return result of analysis
+     * @throws CanceledException if analysis is canceled or thread is interrupted while waiting
+     * @throws RejectedExecutionException if too many editor analyses are waiting
+     */
+    public <T> T execute(Priority priority, ClientProgressMonitor monitor, Supplier<T> analysis) {
+        acquire(priority.ordinal(), monitor);
+        try {
+            return analysis.get();
+        } finally {
+            release(priority.ordinal());
+        }
+    }
+
+    private void acquire(int priority, ClientProgressMonitor monitor) {
+        lock.lock();
+        try {
+            if (waitingByPriority[priority] >= maxWaitingByPriority[priority] && priority == Priority.EDITOR.ordinal()) {
+                throw new RejectedExecutionException("Too many editor analyses waiting");
+            }
+            // Back-pressure, wait a place in queue
+            while (waitingByPriority[priority] >= maxWaitingByPriority[priority]) {
+                await(monitor);
+            }
+            waitingByPriority[priority]++;
+            try {
+                while (!canRun(priority)) {
+                    await(monitor);
+                }
+            } finally {
+                waitingByPriority[priority]--;
+                changed.signalAll();
+            }
+            runningByPriority[priority]++;
+            running++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean canRun(int priority) {
+        if (!hasPlace(priority)) {
+            return false;
+        }
+        for (int higherPriority = 0; higherPriority < priority; higherPriority++) {
+            if (waitingByPriority[higherPriority] > 0 && hasPlace(higherPriority)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Check if a place is free for a priority without taking places kept for higher priorities
+     * @param priority priority of analysis
+     * @return true if a place is free
+     */
+    private boolean hasPlace(int priority) {
+        if (running >= maxRunning) {
+            return false;
+        }
+        // Analyses of higher priorities only count in limit of all priorities
+        int runningWithSameOrLowerPriority = 0;
+        for (int lowerPriority = priority; lowerPriority < runningByPriority.length; lowerPriority++) {
+            runningWithSameOrLowerPriority += runningByPriority[lowerPriority];
+        }
+        return runningWithSameOrLowerPriority < maxRunning - priority;
+    }
+
+    private void await(ClientProgressMonitor monitor) {
+        if (monitor != null && monitor.isCanceled()) {
+            throw new CanceledException();
+        }
+        try {
+            changed.await(CANCELLATION_CHECK_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new CanceledException();
+        }
+    }
+
+    private void release(int priority) {
+        lock.lock();
+        try {
+            runningByPriority[priority]--;
+            running--;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -23,6 +23,7 @@ import com.github.philippefichet.sonarlint4netbeans.ui.SonarLintAnalyzerOutlineC
 import java.io.File;
 import java.net.URI;
 import java.nio.file.Path;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Logger;
@@ -34,7 +35,6 @@ import org.openide.util.Lookup;
 import org.sonarsource.sonarlint.core.analysis.api.AnalysisResults;
 import org.sonarsource.sonarlint.core.client.api.common.PluginDetails;
 import org.sonarsource.sonarlint.core.client.api.common.analysis.Issue;
-import org.sonarsource.sonarlint.core.client.api.standalone.StandaloneRuleDetails;
 import org.sonarsource.sonarlint.core.commons.progress.CanceledException;
 
 /**
@@ -76,50 +76,90 @@ public class SonarLintAnalyzerCancelableTask implements Runnable, Cancellable {
         handle = ProgressHandle.createHandle("SonarLint Anylazer (init)", this);
         handle.start();
         sonarLintAnalyzerContainer.starting();
-        handle.progress(0);
-        handle.progress("Init");
-        List<File> files = SonarLintUtils.toFiles(nodes);
-        // Exclude file supposed not analyzed by an analyzer
-        SonarLintEngine sonarLintEngine = Lookup.getDefault().lookup(SonarLintEngine.class);
-        List<String> fileSuffix = sonarLintEngine.getPluginDetails().stream().map(PluginDetails::key).collect(Collectors.toList());
-        List<String> uriFormFiles = files.stream()
-            .filter(file -> {
-                String[] absolutePathsplit = file.getAbsolutePath().split("\\.");
-                return absolutePathsplit.length > 0 && fileSuffix.contains(absolutePathsplit[absolutePathsplit.length - 1]);
-            })
-            .map(File::toPath)
-            .map(Path::toUri)
-            .map(URI::getPath)
-            .collect(Collectors.toList());
-        int maxFileSupposedAnalyzed = uriFormFiles.size();
-        handle.switchToDeterminate(maxFileSupposedAnalyzed);
-        ClientInputFileListener clientInputFileInputStreamEvent = (URI uri) -> {
-            if (!canceled.get()) {
-                uriFormFiles.remove(uri.getPath());
-                handle.setDisplayName("SonarLint Analyzer");
-                handle.progress(maxFileSupposedAnalyzed - uriFormFiles.size());
-                handle.progress(SonarLintUtils.toTruncateURI(uri, 75));
-            }
-        };
+        // Flush of issues in outline and progress must stop even if analysis fails
         try {
-            AnalysisResults analyze = SonarLintUtils.analyze(
-                files,
-                (Issue issue) ->
-                    sonarLintEngine.getRuleDetails(issue.getRuleKey()).ifPresent((StandaloneRuleDetails ruleDetails) -> {
-                        String ruleName = ruleDetails.getName();
-                        sonarLintAnalyzerContainer.handle(issue, ruleName);
-                    })
-                ,
-                clientInputFileInputStreamEvent,
-                this
-            );
-            if (analyze.failedAnalysisFiles().size() > 0) {
-                LOG.warning("SonarLint analyze finish with \"" + analyze.failedAnalysisFiles().size() + "\" failed analysis files.");
+            handle.progress(0);
+            handle.progress("Collect files");
+            List<File> files = SonarLintUtils.toFiles(nodes, canceled::get);
+            if (canceled.get()) {
+                LOG.info("SonarLint analyze canceled");
+                return;
+            }
+            SonarLintEngine sonarLintEngine = Lookup.getDefault().lookup(SonarLintEngine.class);
+            SonarLintOptions sonarLintOptions = Lookup.getDefault().lookup(SonarLintOptions.class);
+            SonarLintIncrementalAnalysis incrementalAnalysis = null;
+            if (sonarLintOptions == null || sonarLintOptions.analyzeIncrementally()) {
+                // Fingerprint of rule configuration includes analyzers loaded on demand
+                sonarLintEngine.loadAnalyzersOnDemand(files.stream().map(File::getName).collect(Collectors.toList()));
+                handle.progress("Search changed files");
+                incrementalAnalysis = new SonarLintIncrementalAnalysis(
+                    sonarLintEngine,
+                    Lookup.getDefault().lookup(SonarLintDataManager.class),
+                    SonarLintIncrementalAnalysis.defaultStoreDirectory()
+                );
+                // Issues of unchanged files are restored from previous analysis
+                files = incrementalAnalysis.filterChangedFiles(
+                    files,
+                    (File file, List<Issue> issues) -> issues.forEach(issue -> handleIssue(sonarLintEngine, issue))
+                );
+            }
+            // Exclude file supposed not analyzed by an analyzer
+            List<String> fileSuffix = sonarLintEngine.getPluginDetails().stream().map(PluginDetails::key).collect(Collectors.toList());
+            List<String> uriFormFiles = files.stream()
+                .filter(file -> {
+                    String[] absolutePathsplit = file.getAbsolutePath().split("\\.");
+                    return absolutePathsplit.length > 0 && fileSuffix.contains(absolutePathsplit[absolutePathsplit.length - 1]);
+                })
+                .map(File::toPath)
+                .map(Path::toUri)
+                .map(URI::getPath)
+                .collect(Collectors.toList());
+            int maxFileSupposedAnalyzed = uriFormFiles.size();
+            handle.switchToDeterminate(maxFileSupposedAnalyzed);
+            ClientInputFileListener clientInputFileInputStreamEvent = (URI uri) -> {
+                if (!canceled.get()) {
+                    uriFormFiles.remove(uri.getPath());
+                    handle.setDisplayName("SonarLint Analyzer");
+                    handle.progress(maxFileSupposedAnalyzed - uriFormFiles.size());
+                    handle.progress(SonarLintUtils.toTruncateURI(uri, 75));
+                }
+            };
+            try {
+                if (!files.isEmpty()) {
+                    SonarLintIncrementalAnalysis recordingIncrementalAnalysis = incrementalAnalysis;
+                    AnalysisResults analyze = SonarLintUtils.analyze(
+                        files,
+                        (Issue issue) -> {
+                            if (recordingIncrementalAnalysis != null) {
+                                recordingIncrementalAnalysis.record(issue);
+                            }
+                            handleIssue(sonarLintEngine, issue);
+                        },
+                        clientInputFileInputStreamEvent,
+                        this
+                    );
+                    if (analyze.failedAnalysisFiles().size() > 0) {
+                        LOG.warning("SonarLint analyze finish with \"" + analyze.failedAnalysisFiles().size() + "\" failed analysis files.");
+                    }
+                    if (incrementalAnalysis != null && !canceled.get()) {
+                        incrementalAnalysis.save(analyze.failedAnalysisFiles());
+                    }
+                } else if (incrementalAnalysis != null) {
+                    incrementalAnalysis.save(Collections.emptyList());
+                }
+            } catch (CanceledException ex) {
+                LOG.info("SonarLint analyze canceled");
             }
-        } catch (CanceledException ex) {
-            LOG.info("SonarLint analyze canceled");
+        } finally {
+            sonarLintAnalyzerContainer.ending();
+            handle.finish();
         }
-        sonarLintAnalyzerContainer.ending();
-        handle.finish();
+    }
+
+    private void handleIssue(SonarLintEngine sonarLintEngine, Issue issue) {
+        sonarLintEngine.getRuleMetadata(issue.getRuleKey(), SonarLintEngine.GLOBAL_SETTINGS_PROJECT).ifPresent((SonarLintRuleMetadata ruleMetadata) -> {
+            String ruleName = ruleMetadata.getName();
+            sonarLintAnalyzerContainer.handle(issue, ruleName);
+        });
     }
 }
@@ -0,0 +1,76 @@
+/*
+ * sonarlint4netbeans: SonarLint integration for Apache Netbeans
+ * Copyright (C) 2023 Philippe FICHET.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package com.github.philippefichet.sonarlint4netbeans;
+
+import java.util.Optional;
+import org.sonarsource.sonarlint.core.client.api.common.PluginDetails;
+
+/**
+ * Details of an analyzer displayed in options, serializable with Gson
+ * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
+ */
+public final class SonarLintAnalyzerDetails {
+
+    private final String key;
+    private final String name;
+    private final String version;
+    private final String skipReason;
+
+    public SonarLintAnalyzerDetails(String key, String name, String version, String skipReason) {
+        this.key = key;
+        this.name = name;
+        this.version = version;
+        this.skipReason = skipReason;
+    }
+
+    /**
+     * Copy details of a plugin loaded by engine
+     * @param pluginDetails plugin loaded by engine
+     * @return details of analyzer
+     */
+    public static SonarLintAnalyzerDetails from(PluginDetails pluginDetails) {
+        return new SonarLintAnalyzerDetails(
+            pluginDetails.key(),
+            pluginDetails.name(),
+            pluginDetails.version(),
+            pluginDetails.skipReason().map(Object::toString).orElse(null)
+        );
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * Reason why analyzer is not loaded
+     * @return reason why analyzer is not loaded or empty if analyzer is loaded
+     */
+    public Optional<String> getSkipReason() {
+        return Optional.ofNullable(skipReason);
+    }
+}
@@ -32,7 +32,6 @@ import org.openide.text.NbDocument;
 import org.openide.util.Exceptions;
 import org.openide.util.HelpCtx;
 import org.openide.util.actions.NodeAction;
-import org.sonarsource.sonarlint.core.client.api.common.analysis.DefaultClientIssue;
 
 /**
  *
@@ -45,15 +44,14 @@ public class SonarLintAnalyzerOpenIssueInFileAction extends NodeAction {
             final SonarLintAnalyserIssueNode issueNode = n.getLookup().lookup(
                     SonarLintAnalyserIssueNode.class);
             if (issueNode != null) {
-                DefaultClientIssue issue = issueNode.getIssue();
-                URI uri = issue.getInputFile().uri();
-                FileObject toFileObject = FileUtil.toFileObject(new File(uri));
+                URI uri = issueNode.getFileURI();
+                FileObject toFileObject = uri == null ? null : FileUtil.toFileObject(new File(uri));
                 if (toFileObject != null) {
                     try {
                         DataObject find = DataObject.find(toFileObject);
                         if (find != null) {
-                            Integer startLine = issue.getStartLine();
-                            Integer startLineOffset = issue.getStartLineOffset();
+                            Integer startLine = issueNode.getStartLine();
+                            Integer startLineOffset = issueNode.getStartLineOffset();
                             NbDocument.openDocument(
                                 find,
                                 startLine != null ? startLine - 1 : 0, 
@@ -37,12 +37,16 @@ public final class SonarLintAnalyzersTableModel extends DefaultTableModel {
     }
     
     public void addPluginDetails(PluginDetails loadedAnalyzer) {
+        addAnalyzerDetails(SonarLintAnalyzerDetails.from(loadedAnalyzer));
+    }
+
+    public void addAnalyzerDetails(SonarLintAnalyzerDetails analyzer) {
         this.addRow(
             new Object[] {
-                loadedAnalyzer.key(),
-                loadedAnalyzer.name(),
-                loadedAnalyzer.version(),
-                loadedAnalyzer.skipReason().map(reason -> "Disable: " + reason.toString()).orElse("Enable")
+                analyzer.getKey(),
+                analyzer.getName(),
+                analyzer.getVersion(),
+                analyzer.getSkipReason().map(reason -> "Disable: " + reason).orElse("Enable")
             }
         );
     }
@@ -0,0 +1,238 @@
+/*
+ * sonarlint4netbeans: SonarLint integration for Apache Netbeans
+ * Copyright (C) 2023 Philippe FICHET.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package com.github.philippefichet.sonarlint4netbeans;
+
+import com.github.philippefichet.sonarlint4netbeans.annotation.SonarLintAnnotationHandler;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.openide.filesystems.FileObject;
+import org.openide.util.Lookup;
+import org.openide.util.RequestProcessor;
+import org.sonarsource.sonarlint.core.commons.progress.CanceledException;
+import org.sonarsource.sonarlint.core.commons.progress.ClientProgressMonitor;
+
+/**
+ * Schedule analysis of edited files.
+ * Successive requests on the same file during the quiet period are coalesced
+ * into one analysis of the latest content and a running analysis of a superseded content is canceled.
+ * The first time a file is analyzed, issues stored by a previous analysis of the same content are shown
+ * immediately and the file is analyzed again later in background.
+ * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
+ */
+public final class SonarLintEditorAnalysisScheduler {
+
+    private static final Logger LOG = Logger.getLogger(SonarLintEditorAnalysisScheduler.class.getName());
+    private static final int DEFAULT_QUIET_PERIOD = 300;
+    private static final int REVALIDATION_DELAY = 5_000;
+    private final RequestProcessor requestProcessor = new RequestProcessor(SonarLintEditorAnalysisScheduler.class.getName(), 1, true);
+    private final Map<FileObject, FileAnalysis> analysisByFileObject = Collections.synchronizedMap(new WeakHashMap<>());
+    private final FileAnalyzer fileAnalyzer;
+    private final IntSupplier quietPeriod;
+    private final int revalidationDelay;
+
+    public SonarLintEditorAnalysisScheduler() {
+        this(new AnnotationFileAnalyzer(), SonarLintEditorAnalysisScheduler::getQuietPeriod, REVALIDATION_DELAY);
+    }
+
+    SonarLintEditorAnalysisScheduler(FileAnalyzer fileAnalyzer, IntSupplier quietPeriod, int revalidationDelay) {
+        this.fileAnalyzer = fileAnalyzer;
+        this.quietPeriod = quietPeriod;
+        this.revalidationDelay = revalidationDelay;
+    }
+
+    /**
+     * Schedule analysis of a content, replacing previous content waiting to be analyzed
+     * @param sonarLintEngine engine used to analyze
+     * @param fileObject file to analyze
+     * @param textToAnalyze content to analyze
+     */
+    public void schedule(SonarLintEngine sonarLintEngine, FileObject fileObject, String textToAnalyze) {
+        FileAnalysis fileAnalysis = analysisByFileObject.computeIfAbsent(fileObject, fo -> new FileAnalysis());
+        fileAnalysis.update(sonarLintEngine, fileObject, textToAnalyze);
+        fileAnalysis.cancelRunning();
+        fileAnalysis.task.schedule(quietPeriod.getAsInt());
+    }
+
+    /**
+     * Cancel pending and running analysis of a file
+     * @param fileObject file to cancel analysis
+     */
+    public void cancel(FileObject fileObject) {
+        FileAnalysis fileAnalysis = analysisByFileObject.get(fileObject);
+        if (fileAnalysis != null) {
+            fileAnalysis.cancelRunning();
+        }
+    }
+
+    private static int getQuietPeriod() {
+        SonarLintOptions sonarlintOptions = Lookup.getDefault().lookup(SonarLintOptions.class);
+        if (sonarlintOptions == null) {
+            return DEFAULT_QUIET_PERIOD;
+        }
+        return Math.max(0, sonarlintOptions.getEditorAnalysisDelay());
+    }
+
+    private final class FileAnalysis implements Runnable {
+        private final RequestProcessor.Task task = requestProcessor.create(this);
+        // FileObject is only kept while waiting analysis to not prevent its garbage collection
+        private SonarLintEngine sonarLintEngine;
+        private FileObject fileObject;
+        private String textToAnalyze;
+        private AtomicBoolean runningCanceled;
+        private boolean storedIssuesChecked;
+
+        private synchronized void update(SonarLintEngine sonarLintEngine, FileObject fileObject, String textToAnalyze) {
+            this.sonarLintEngine = sonarLintEngine;
+            this.fileObject = fileObject;
+            this.textToAnalyze = textToAnalyze;
+        }
+
+        private synchronized void revalidate(SonarLintEngine sonarLintEngine, FileObject fileObject, String textToAnalyze) {
+            // A newer content is already waiting analysis
+            if (this.fileObject == null) {
+                update(sonarLintEngine, fileObject, textToAnalyze);
+                task.schedule(revalidationDelay);
+            }
+        }
+
+        private synchronized void cancelRunning() {
+            if (runningCanceled != null) {
+                runningCanceled.set(true);
+            }
+        }
+
+        @Override
+        public void run() {
+            SonarLintEngine engine;
+            FileObject file;
+            String text;
+            AtomicBoolean canceled = new AtomicBoolean(false);
+            boolean checkStoredIssues;
+            synchronized (this) {
+                engine = sonarLintEngine;
+                file = fileObject;
+                text = textToAnalyze;
+                sonarLintEngine = null;
+                fileObject = null;
+                textToAnalyze = null;
+                if (file == null) {
+                    return;
+                }
+                runningCanceled = canceled;
+                checkStoredIssues = !storedIssuesChecked;
+                storedIssuesChecked = true;
+            }
+            try {
+                if (checkStoredIssues && fileAnalyzer.showStoredIssues(engine, file, text)) {
+                    revalidate(engine, file, text);
+                    return;
+                }
+                fileAnalyzer.analyze(engine, file, text, new CancelableProgressMonitor(canceled));
+            } catch (CanceledException ex) {
+                LOG.fine(() -> "Analyze of superseded content canceled for \"" + file.getPath() + "\"");
+            } catch (RejectedExecutionException ex) {
+                LOG.fine(() -> "Too many analyses waiting, analyze of \"" + file.getPath() + "\" postponed");
+                revalidate(engine, file, text);
+            } catch (IOException ex) {
+                LOG.log(Level.SEVERE, "Error while analyze \"{0}\": {1}", new Object[]{file.getPath(), ex.getMessage()});
+            } finally {
+                synchronized (this) {
+                    if (runningCanceled == canceled) {
+                        runningCanceled = null;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Show issues of a content of a file
+     */
+    interface FileAnalyzer {
+
+        /**
+         * Show issues stored by a previous analysis of the same content
+         * @param sonarLintEngine engine used to analyze
+         * @param fileObject analyzed file
+         * @param textToAnalyze content to analyze
+         * @return true if stored issues are shown
+         * @throws IOException if file cannot be read
+         */
+        boolean showStoredIssues(SonarLintEngine sonarLintEngine, FileObject fileObject, String textToAnalyze) throws IOException;
+
+        /**
+         * Analyze content and show its issues
+         * @param sonarLintEngine engine used to analyze
+         * @param fileObject analyzed file
+         * @param textToAnalyze content to analyze
+         * @param monitor monitor canceled when content is superseded
+         * @throws IOException if file cannot be read
+         */
+        void analyze(SonarLintEngine sonarLintEngine, FileObject fileObject, String textToAnalyze, ClientProgressMonitor monitor) throws IOException;
+    }
+
+    private static final class AnnotationFileAnalyzer implements FileAnalyzer {
+
+        @Override
+        public boolean showStoredIssues(SonarLintEngine sonarLintEngine, FileObject fileObject, String textToAnalyze) throws IOException {
+            return SonarLintAnnotationHandler.showStoredIssues(sonarLintEngine, fileObject, textToAnalyze);
+        }
+
+        @Override
+        public void analyze(SonarLintEngine sonarLintEngine, FileObject fileObject, String textToAnalyze, ClientProgressMonitor monitor) throws IOException {
+            SonarLintAnnotationHandler.analyze(sonarLintEngine, fileObject, textToAnalyze, monitor);
+        }
+    }
+
+    private static final class CancelableProgressMonitor implements ClientProgressMonitor {
+        private final AtomicBoolean canceled;
+
+        private CancelableProgressMonitor(AtomicBoolean canceled) {
+            this.canceled = canceled;
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return canceled.get() || Thread.currentThread().isInterrupted();
+        }
+
+        @Override
+        public void setMessage(String msg) {
+            // Not displayed
+        }
+
+        @Override
+        public void setFraction(float fraction) {
+            // Not displayed
+        }
+
+        @Override
+        public void setIndeterminate(boolean indeterminate) {
+            // Not displayed
+        }
+    }
+}
@@ -24,9 +24,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.prefs.Preferences;
 import org.netbeans.api.project.Project;
+import org.sonarsource.sonarlint.core.StandaloneSonarLintEngineImpl;
 import org.sonarsource.sonarlint.core.analysis.api.AnalysisResults;
 import org.sonarsource.sonarlint.core.client.api.common.PluginDetails;
 import org.sonarsource.sonarlint.core.client.api.common.RuleDetails;
@@ -54,11 +57,53 @@ public interface SonarLintEngine {
      */
     public AnalysisResults analyze(StandaloneAnalysisConfiguration configuration, IssueListener issueListener, ClientLogOutput logOutput, ClientProgressMonitor monitor);
 
+    /**
+     * Analyze files when admitted by priority, analyses of editor are admitted before analyses of many files.
+     * Files of task list and background analyses are analyzed by chunks, each chunk is admitted separately.
+     * Analyzers of files must be loaded with {@link #loadAnalyzersOnDemand(Collection)} before building configuration
+     * @param configuration configuration
+     * @param issueListener listener
+     * @param logOutput log
+     * @param monitor monitor, also checked while analysis is waiting
+     * @param priority priority of analysis
+     * @return result of analyze
+     */
+    public AnalysisResults analyze(
+        StandaloneAnalysisConfiguration configuration,
+        IssueListener issueListener,
+        ClientLogOutput logOutput,
+        ClientProgressMonitor monitor,
+        SonarLintAnalysisExecutor.Priority priority
+    );
+
+    /**
+     * Load bundled analyzers of languages of files not loaded yet when analyzers are loaded on demand,
+     * block current Thread while engine restarts with them.
+     * Must be called before retrieving rule configuration used to analyze these files.
+     * @param fileNames names or paths of files to analyze
+     */
+    public void loadAnalyzersOnDemand(Collection<String> fileNames);
+
     /**
      * Block current Thread while engine is not ready
      */
     public void waitingInitialization();
 
+    /**
+     * Block current Thread while engine is not ready or until timeout expires
+     * @param timeout maximum time to wait
+     * @param unit unit of timeout
+     * @return true if engine is ready, false otherwise
+     */
+    public boolean waitingInitialization(long timeout, TimeUnit unit);
+
+    /**
+     * Retrieve future completed when engine is ready.
+     * A new future is created on each engine restart
+     * @return future completed when engine is ready
+     */
+    public CompletableFuture<StandaloneSonarLintEngineImpl> getInitializedEngine();
+
     /**
      * Retrieve NodeJS path if customized
      * @return NodeJS path
@@ -85,6 +130,20 @@ public interface SonarLintEngine {
      */
     public Collection<StandaloneRuleDetails> getAllRuleDetails();
 
+    /**
+     * Return index of all available rules, built once until engine restarts.
+     *
+     * @return index of all available rules.
+     */
+    public SonarLintRuleCatalog getRuleCatalog();
+
+    /**
+     * Get details of the analyzers that are currently loaded, or loaded by previous start while engine starts.
+     *
+     * @return details of analyzers.
+     */
+    public List<SonarLintAnalyzerDetails> getAnalyzerDetails();
+
     /**
      * Get information about the analyzers that are currently loaded.
      *
@@ -100,6 +159,15 @@ public interface SonarLintEngine {
      */
     public Optional<StandaloneRuleDetails> getRuleDetails(String ruleKey);
 
+    /**
+     * Return metadata of rule used for each issue, built once until engine restarts or configuration changes.
+     *
+     * @param ruleKey rule key (ex: java:S108)
+     * @param project project used to resolve rule parameters
+     * @return metadata of rule.
+     */
+    public Optional<SonarLintRuleMetadata> getRuleMetadata(String ruleKey, Project project);
+
     /**
      * Retrieve preferences
      * @param project project to retrieve preferences
@@ -155,6 +223,14 @@ public interface SonarLintEngine {
      */
     public void excludeRuleKey(RuleKey ruleKey, Project project);
 
+    /**
+     * Retrieve rule configuration of a project, built once until configuration changes or engine restarts
+     *
+     * @param project project to retrieve rule configuration
+     * @return rule configuration of project
+     */
+    public RuleConfigurationSnapshot getRuleConfiguration(Project project);
+
     /**
      * Check if rule must be exclude
      *
@@ -164,6 +240,15 @@ public interface SonarLintEngine {
      */
     public boolean isExcluded(RuleDetails ruleDetails, Project project);
 
+    /**
+     * Check if each rule must be exclude
+     *
+     * @param ruleDetails rule details to check
+     * @param project project to search excluded rule
+     * @return for each rule key, true if rule must be exclude, false otherwise
+     */
+    public Map<String, Boolean> areExcluded(Collection<? extends RuleDetails> ruleDetails, Project project);
+
     /**
      * Call consumer when engine is initialized. If already initialized,
      * consumer is call immediatly
@@ -172,6 +257,24 @@ public interface SonarLintEngine {
      */
     public void whenInitialized(Consumer<SonarLintEngine> consumer);
 
+    /**
+     * Call consumer when rules and analyzers can be listed, from previous start
+     * with same plugins while engine starts or when engine is initialized.
+     * If already available, consumer is call immediatly
+     *
+     * @param consumer consumer to call when rules and analyzers can be listed.
+     */
+    public void whenRulesAvailable(Consumer<SonarLintEngine> consumer);
+
+    /**
+     * Call consumer when rules and analyzers can be listed, or error consumer
+     * if engine initialization failed before rules and analyzers can be listed.
+     *
+     * @param consumer consumer to call when rules and analyzers can be listed.
+     * @param errorConsumer consumer to call with error of engine initialization.
+     */
+    public void whenRulesAvailable(Consumer<SonarLintEngine> consumer, Consumer<Throwable> errorConsumer);
+
     /**
      * Call consumer when engine is restart.
      *
@@ -240,6 +343,14 @@ public interface SonarLintEngine {
      */
     public void setExtraProperties(Map<String, String> extraProperties, Project project);
 
+    /**
+     * Retrieve exclusion patterns of global and project settings (extra property "sonar.exclusions"),
+     * compiled once until configuration changes.
+     * @param project Project whose files are checked
+     * @return compiled exclusion patterns
+     */
+    public SonarLintExclusions getExclusions(Project project);
+
     /**
      * Stop the engine
      */
@@ -20,12 +20,14 @@
 package com.github.philippefichet.sonarlint4netbeans;
 
 import com.google.gson.Gson;
+import java.io.File;
 import java.io.IOException;
 import java.nio.file.InvalidPathException;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -34,15 +36,26 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.prefs.Preferences;
 import java.util.stream.Collectors;
 import org.netbeans.api.project.Project;
+import org.openide.filesystems.FileUtil;
 import org.openide.util.Lookup;
+import org.openide.util.RequestProcessor;
 import org.sonarsource.sonarlint.core.StandaloneSonarLintEngineImpl;
 import org.sonarsource.sonarlint.core.analysis.api.AnalysisResults;
+import org.sonarsource.sonarlint.core.analysis.api.ClientInputFile;
 import org.sonarsource.sonarlint.core.client.api.common.PluginDetails;
 import org.sonarsource.sonarlint.core.client.api.common.RuleDetails;
 import org.sonarsource.sonarlint.core.client.api.common.analysis.IssueListener;
@@ -54,6 +67,7 @@ import org.sonarsource.sonarlint.core.commons.Language;
 import org.sonarsource.sonarlint.core.commons.RuleKey;
 import org.sonarsource.sonarlint.core.commons.Version;
 import org.sonarsource.sonarlint.core.commons.log.ClientLogOutput;
+import org.sonarsource.sonarlint.core.commons.progress.CanceledException;
 import org.sonarsource.sonarlint.core.commons.progress.ClientProgressMonitor;
 
 /**
@@ -63,6 +77,8 @@ import org.sonarsource.sonarlint.core.commons.progress.ClientProgressMonitor;
 public final class SonarLintEngineImpl implements SonarLintEngine {
 
     private static final Logger LOG = Logger.getLogger(SonarLintEngineImpl.class.getName());
+    // Engines are created one after the other, a restart waits creation of previous engine
+    private static final RequestProcessor ENGINE_RP = new RequestProcessor("SonarLint engine initialization", 1);
 
     // https://central.sonatype.com/artifact/org.sonarsource.java/sonar-java-plugin
     private static final String SONAR_JAVA_PLUGIN_VERSION = "7.24.0.32100";
@@ -76,17 +92,40 @@ public final class SonarLintEngineImpl implements SonarLintEngine {
     private static final String SONAR_XML_PLUGIN_VERSION = "2.10.0.4108";
     private static final String PREFIX_PREFERENCE_RULE_PARAMETER = "rules.parameters.";
     private static final String PREFIX_EXCLUDE_RULE = "excludedRules";
+    private static final String PREFIX_EXCLUDE_RULE_DEFAULT_PLUGINS = "excludedRules.defaultPlugins";
     private static final String PREFIX_RUNTIME_EXTRA_PROPERTIES_PREFERENCE = "extraProperties";
     private static final String PREFIX_ADDITIONAL_PLUGINS_PREFERENCE = "additionnalPlugins";
     private static final String PREFIX_RUNTIME_PREFERENCE = "runtime.";
     private static final String RUNTIME_NODE_JS_PATH_PREFERENCE = "nodejs.path";
     private static final String RUNTIME_NODE_JS_VERSION_PREFERENCE = "nodejs.version";
+    private static final String RUNTIME_REQUIRED_PLUGINS_PREFERENCE = "plugins.required";
+    // Maximum number of files analyzed at once by task list and background analyses, editor analyses run between chunks
+    private static final int ANALYSIS_CHUNK_SIZE = 50;
     private final Gson gson = new Gson();
-    private StandaloneSonarLintEngineImpl standaloneSonarLintEngineImpl;
-    private final List<Consumer<SonarLintEngine>> consumerWaitingInitialization = Collections.synchronizedList(new ArrayList<>());
+    // Engine used by analyses, the previous engine is kept while a new one starts in hot swap mode
+    private volatile ServingEngine servingEngine;
+    // No engine is created or used once stopped
+    private volatile boolean stopped;
+    private volatile CompletableFuture<StandaloneSonarLintEngineImpl> initializedEngine;
+    // Completed when rules can be listed, from metadata of previous start or from engine
+    private volatile CompletableFuture<Void> rulesAvailable;
+    // Metadata of previous start with same plugins, used while no engine is ready
+    private volatile SonarLintMetadataStore.Metadata storedMetadata;
+    // Engine runs one analysis at a time, more admitted analyses would only wait inside engine in front of editor analyses
+    private final SonarLintAnalysisExecutor analysisExecutor = new SonarLintAnalysisExecutor(SonarLintAnalysisExecutor.Priority.values().length);
+    private final SonarLintMetadataStore metadataStore = new SonarLintMetadataStore(SonarLintMetadataStore.defaultStoreDirectory());
+    private final AtomicLong engineGeneration = new AtomicLong();
     private final List<Consumer<SonarLintEngine>> consumerRestarted = Collections.synchronizedList(new ArrayList<>());
     private final List<Consumer<SonarLintEngine>> configurationChanged = Collections.synchronizedList(new ArrayList<>());
+    private final Map<Project, RuleConfigurationSnapshot> ruleConfigurationByProject = Collections.synchronizedMap(new WeakHashMap<>());
+    private final AtomicLong ruleConfigurationGeneration = new AtomicLong();
+    private final Map<Project, Map<String, Optional<SonarLintRuleMetadata>>> ruleMetadataByProject = Collections.synchronizedMap(new WeakHashMap<>());
+    private final Map<Project, SonarLintExclusions> exclusionsByProject = Collections.synchronizedMap(new WeakHashMap<>());
+    // Rules only change when engine restarts
+    private final Map<StandaloneSonarLintEngineImpl, SonarLintRuleCatalog> ruleCatalogByEngine = Collections.synchronizedMap(new WeakHashMap<>());
     private final Map<String, Path> pluginPaths = new HashMap<>();
+    // Bundled plugins loaded when plugins are loaded on demand, persisted to load them on next start
+    private final Set<String> requiredPlugins = ConcurrentHashMap.newKeySet();
     private final Lookup lookup = Lookup.getDefault();
 
     public SonarLintEngineImpl() {
@@ -96,6 +135,7 @@ public final class SonarLintEngineImpl implements SonarLintEngine {
         pluginPaths.put("php", sonarLintDataManager.getInstalledFile("sonar/plugins/sonar-php-plugin-" + SONAR_PHP_PLUGIN_VERSION + ".jar").toPath());
         pluginPaths.put("web", sonarLintDataManager.getInstalledFile("sonar/plugins/sonar-html-plugin-" + SONAR_HTML_PLUGIN_VERSION + ".jar").toPath());
         pluginPaths.put("xml", sonarLintDataManager.getInstalledFile("sonar/plugins/sonar-xml-plugin-" + SONAR_XML_PLUGIN_VERSION + ".jar").toPath());
+        requiredPlugins.addAll(getRequiredPlugins());
         createInternalEngine();
     }
 
@@ -133,19 +173,193 @@ public final class SonarLintEngineImpl implements SonarLintEngine {
     }
 
     private void createInternalEngine() {
-        StandaloneSonarLintEngineImpl oldStandaloneSonarLintEngineImpl = standaloneSonarLintEngineImpl;
-        standaloneSonarLintEngineImpl = null;
-        consumerRestarted.forEach(consumer -> consumer.accept(this));
-        consumerRestarted.clear();
-        new Thread(() -> createInternalEngine(oldStandaloneSonarLintEngineImpl))
-            .start();
+        CompletableFuture<StandaloneSonarLintEngineImpl> newInitializedEngine = new CompletableFuture<>();
+        CompletableFuture<Void> newRulesAvailable = new CompletableFuture<>();
+        boolean hotSwap = isHotSwapEngine();
+        long generation;
+        synchronized (engineGeneration) {
+            if (stopped) {
+                LOG.fine("SonarLint engine stopped, not restarted");
+                return;
+            }
+            generation = engineGeneration.incrementAndGet();
+            initializedEngine = newInitializedEngine;
+            rulesAvailable = newRulesAvailable;
+            storedMetadata = null;
+            if (!hotSwap) {
+                ServingEngine oldServingEngine = servingEngine;
+                servingEngine = null;
+                if (oldServingEngine != null) {
+                    oldServingEngine.retire();
+                }
+            }
+        }
+        // Rules can be added or removed by new plugins
+        invalidateRuleConfigurations();
+        // Consumers can register again while called
+        List<Consumer<SonarLintEngine>> restartedConsumers;
+        synchronized (consumerRestarted) {
+            restartedConsumers = new ArrayList<>(consumerRestarted);
+            consumerRestarted.clear();
+        }
+        restartedConsumers.forEach(consumer -> consumer.accept(this));
+        ENGINE_RP.post(() -> createInternalEngine(generation, hotSwap, newInitializedEngine, newRulesAvailable));
     }
 
-    private void createInternalEngine(StandaloneSonarLintEngineImpl oldStandaloneSonarLintEngineImpl) {
-        if (oldStandaloneSonarLintEngineImpl != null) {
-            oldStandaloneSonarLintEngineImpl.stop();
+    private void createInternalEngine(
+        long generation,
+        boolean hotSwap,
+        CompletableFuture<StandaloneSonarLintEngineImpl> newInitializedEngine,
+        CompletableFuture<Void> newRulesAvailable
+    ) {
+        Map<String, Path> plugins = getPluginsToLoad();
+        String pluginsFingerprint = null;
+        boolean metadataStored = false;
+        try {
+            pluginsFingerprint = SonarLintMetadataStore.fingerprint(
+                plugins,
+                getNodeJSPath().orElse("") + ";" + getNodeJSVersion().map(Version::toString).orElse("")
+            );
+            Optional<SonarLintMetadataStore.Metadata> metadata = metadataStore.load(pluginsFingerprint);
+            metadataStored = metadata.isPresent();
+            if (metadataStored) {
+                synchronized (engineGeneration) {
+                    if (generation == engineGeneration.get() && servingEngine == null && !stopped) {
+                        storedMetadata = metadata.get();
+                    }
+                }
+                newRulesAvailable.complete(null);
+            }
+        } catch (IOException ex) {
+            LOG.log(Level.WARNING, "Unable to compute fingerprint of plugins", ex);
+        }
+        try {
+            StandaloneSonarLintEngineImpl newStandaloneSonarLintEngineImpl = new StandaloneSonarLintEngineImpl(createGlobalConfiguration(plugins));
+            if (!install(new ServingEngine(newStandaloneSonarLintEngineImpl, generation), hotSwap)) {
+                newInitializedEngine.completeExceptionally(new IllegalStateException("SonarLint engine stopped"));
+                newRulesAvailable.complete(null);
+                return;
+            }
+            newInitializedEngine.complete(newStandaloneSonarLintEngineImpl);
+            newRulesAvailable.complete(null);
+            if (pluginsFingerprint != null && !metadataStored) {
+                metadataStore.save(
+                    pluginsFingerprint,
+                    newStandaloneSonarLintEngineImpl.getPluginDetails(),
+                    newStandaloneSonarLintEngineImpl.getAllRuleDetails()
+                );
+            }
+        } catch (RuntimeException ex) {
+            LOG.log(Level.SEVERE, "Error during SonarLint engine initialization", ex);
+            synchronized (engineGeneration) {
+                if (generation == engineGeneration.get()) {
+                    // Rules of previous start are no longer listed, consumers waiting rules are notified of failure
+                    storedMetadata = null;
+                }
+            }
+            newInitializedEngine.completeExceptionally(ex);
+            newRulesAvailable.completeExceptionally(ex);
+        }
+    }
+
+    /**
+     * Replace serving engine by a new engine if it is more recent, the replaced engine is stopped when its analyses are done
+     * @param newServingEngine new engine ready to analyze
+     * @param hotSwap true if engine can replace a serving engine more recent than itself
+     * @return false if new engine is stopped because this engine is stopped
+     */
+    private boolean install(ServingEngine newServingEngine, boolean hotSwap) {
+        ServingEngine replacedServingEngine;
+        synchronized (engineGeneration) {
+            if (stopped) {
+                newServingEngine.retire();
+                return false;
+            }
+            ServingEngine currentServingEngine = servingEngine;
+            boolean latest = newServingEngine.generation == engineGeneration.get();
+            boolean newer = currentServingEngine == null || currentServingEngine.generation < newServingEngine.generation;
+            if (latest || (hotSwap && newer)) {
+                replacedServingEngine = currentServingEngine;
+                servingEngine = newServingEngine;
+                storedMetadata = null;
+            } else {
+                // Engine created by a restart already replaced
+                replacedServingEngine = newServingEngine;
+            }
+        }
+        // Rule configurations can be built with the replaced engine while swapping
+        invalidateRuleConfigurations();
+        if (replacedServingEngine != null) {
+            replacedServingEngine.retire();
         }
+        return true;
+    }
+
+    private boolean isLoadPluginsOnDemand() {
+        SonarLintOptions sonarLintOptions = lookup.lookup(SonarLintOptions.class);
+        return sonarLintOptions != null && sonarLintOptions.loadPluginsOnDemand();
+    }
+
+    private Set<String> getRequiredPlugins() {
+        Set<String> fromJson = gson.fromJson(
+            getPreferences(GLOBAL_SETTINGS_PROJECT)
+            .get(PREFIX_RUNTIME_PREFERENCE + RUNTIME_REQUIRED_PLUGINS_PREFERENCE, "[]"),
+            Set.class
+        );
+        return fromJson == null ? Collections.emptySet() : fromJson;
+    }
+
+    @Override
+    public void loadAnalyzersOnDemand(Collection<String> fileNames) {
+        if (isLoadPluginsOnDemand()) {
+            loadRequiredPlugins(fileNames);
+        }
+    }
+
+    /**
+     * Restart engine with bundled plugins analyzing files not loaded yet and wait for it
+     * @param fileNames names or paths of files to analyze
+     */
+    private void loadRequiredPlugins(Iterable<String> fileNames) {
+        Set<String> missingPlugins = new HashSet<>();
+        for (String path : fileNames) {
+            for (Language language : Language.values()) {
+                String pluginKey = language.getPluginKey();
+                if (pluginPaths.containsKey(pluginKey)
+                    && !requiredPlugins.contains(pluginKey)
+                    && Arrays.stream(language.getDefaultFileSuffixes()).anyMatch(path::endsWith)
+                ) {
+                    missingPlugins.add(pluginKey);
+                }
+            }
+        }
+        if (missingPlugins.isEmpty()) {
+            return;
+        }
+        synchronized (requiredPlugins) {
+            if (!requiredPlugins.addAll(missingPlugins)) {
+                // Already requested by another analysis
+                getInternalEngine();
+                return;
+            }
+            LOG.log(Level.INFO, "Load plugins on demand: {0}", missingPlugins);
+            getPreferences(GLOBAL_SETTINGS_PROJECT)
+                .put(PREFIX_RUNTIME_PREFERENCE + RUNTIME_REQUIRED_PLUGINS_PREFERENCE, gson.toJson(new TreeSet<>(requiredPlugins)));
+            createInternalEngine();
+        }
+        getInternalEngine();
+    }
+
+    private boolean isHotSwapEngine() {
+        SonarLintOptions sonarLintOptions = lookup.lookup(SonarLintOptions.class);
+        return sonarLintOptions == null || sonarLintOptions.hotSwapEngine();
+    }
+
+    private Map<String, Path> getPluginsToLoad() {
         Map<String, Path> allPlugins = new HashMap<>(pluginPaths);
+        if (isLoadPluginsOnDemand()) {
+            allPlugins.keySet().retainAll(requiredPlugins);
+        }
         getAdditionnalPlugins().forEach((String key, String url) -> {
             try {
                 allPlugins.put(key, Paths.get(url).toRealPath());
@@ -157,7 +371,10 @@ public final class SonarLintEngineImpl implements SonarLintEngine {
                 LOG.log(Level.WARNING, "Additional plugin \"{0}\" has an error with path : {1} : {2}", new Object[]{key, url, ex.getMessage()});
             }
         });
-        
+        return allPlugins;
+    }
+
+    private StandaloneGlobalConfiguration createGlobalConfiguration(Map<String, Path> allPlugins) {
         List<Path> allPluginPaths = new ArrayList<>(allPlugins.values());
         StandaloneGlobalConfiguration.Builder configBuilder = StandaloneGlobalConfiguration.builder()
             .addEnabledLanguages(Language.values())
@@ -172,9 +389,7 @@ public final class SonarLintEngineImpl implements SonarLintEngine {
         } else {
             tryToSetDefaultNodeJS(configBuilder);
         }
-        standaloneSonarLintEngineImpl = new StandaloneSonarLintEngineImpl(configBuilder.build());
-        consumerWaitingInitialization.forEach(consumer -> consumer.accept(this));
-        consumerWaitingInitialization.clear();
+        return configBuilder.build();
     }
 
     private void tryToSetDefaultNodeJS(StandaloneGlobalConfiguration.Builder configBuilder) {
@@ -213,15 +428,10 @@ public final class SonarLintEngineImpl implements SonarLintEngine {
         }
 
         if (fromJson == null) {
-            if (standaloneSonarLintEngineImpl != null) {
+            ServingEngine currentServingEngine = servingEngine;
+            if (currentServingEngine != null) {
                 Collection<RuleKey> excludedRules = new HashSet<>();
-                Collection<StandaloneRuleDetails> allRuleDetails = standaloneSonarLintEngineImpl.getAllRuleDetails();
-                for (StandaloneRuleDetails allRuleDetail : allRuleDetails) {
-                    if (!allRuleDetail.isActiveByDefault()) {
-                        excludedRules.add(RuleKey.parse(allRuleDetail.getKey()));
-                    }
-                }
-                getPreferences(project).put(PREFIX_EXCLUDE_RULE, gson.toJson(excludedRules));
+                addExcludedRulesByDefault(project, currentServingEngine.engine, excludedRules, null);
                 return excludedRules;
             } else {
                 return new ArrayList<>(0);
@@ -231,10 +441,48 @@ public final class SonarLintEngineImpl implements SonarLintEngine {
             for (Map<String, String> ruleKey : fromJson) {
                 excludedRules.add(RuleKey.parse(ruleKey.get("repository") + ":" + ruleKey.get("rule")));
             }
+            String defaultPluginsJson = getPreferences(project).get(PREFIX_EXCLUDE_RULE_DEFAULT_PLUGINS, null);
+            ServingEngine currentServingEngine = servingEngine;
+            // Without default plugins, excluded rules were created with all bundled plugins
+            if (defaultPluginsJson != null && currentServingEngine != null) {
+                Set<String> defaultPlugins = gson.fromJson(defaultPluginsJson, Set.class);
+                addExcludedRulesByDefault(project, currentServingEngine.engine, excludedRules, defaultPlugins);
+            }
             return excludedRules;
         }
     }
 
+    /**
+     * Exclude rules not active by default of bundled plugins loaded since last exclusion by default
+     * @param project project to exclude rules
+     * @param engine engine with loaded plugins
+     * @param excludedRules excluded rules to complete
+     * @param defaultPlugins bundled plugins with rules already excluded by default, null to exclude rules of all loaded plugins
+     */
+    private void addExcludedRulesByDefault(Project project, StandaloneSonarLintEngineImpl engine, Collection<RuleKey> excludedRules, Set<String> defaultPlugins) {
+        Set<String> newPlugins = new TreeSet<>();
+        for (PluginDetails pluginDetails : engine.getPluginDetails()) {
+            if (pluginPaths.containsKey(pluginDetails.key())
+                && (defaultPlugins == null || !defaultPlugins.contains(pluginDetails.key()))) {
+                newPlugins.add(pluginDetails.key());
+            }
+        }
+        if (defaultPlugins != null && newPlugins.isEmpty()) {
+            return;
+        }
+        for (StandaloneRuleDetails ruleDetails : engine.getAllRuleDetails()) {
+            if (!ruleDetails.isActiveByDefault()
+                && (defaultPlugins == null || newPlugins.contains(ruleDetails.getLanguage().getPluginKey()))) {
+                excludedRules.add(RuleKey.parse(ruleDetails.getKey()));
+            }
+        }
+        if (defaultPlugins != null) {
+            newPlugins.addAll(defaultPlugins);
+        }
+        getPreferences(project).put(PREFIX_EXCLUDE_RULE, gson.toJson(excludedRules));
+        getPreferences(project).put(PREFIX_EXCLUDE_RULE_DEFAULT_PLUGINS, gson.toJson(newPlugins));
+    }
+
     @Override
     public List<RuleKey> getIncludedRules(Project project)
     {
@@ -263,64 +511,312 @@ public final class SonarLintEngineImpl implements SonarLintEngine {
     }
 
     @Override
-    public boolean isExcluded(RuleDetails ruleDetails, Project project) {
+    public RuleConfigurationSnapshot getRuleConfiguration(Project project) {
+        RuleConfigurationSnapshot ruleConfiguration = ruleConfigurationByProject.get(project);
+        if (ruleConfiguration != null) {
+            return ruleConfiguration;
+        }
+        long generation = ruleConfigurationGeneration.get();
+        // Excluded rules by default are known only when engine is ready
+        StandaloneSonarLintEngineImpl engine = getServingEngine().engine;
         Collection<RuleKey> excludedRules = getExcludedRules(project);
-        for (RuleKey excludedRule : excludedRules) {
-            if (ruleDetails.getKey().equals(excludedRule.toString())) {
-                return true;
+        Set<String> excludedRuleKeys = excludedRules.stream().map(RuleKey::toString).collect(Collectors.toSet());
+        ruleConfiguration = new RuleConfigurationSnapshot(
+            excludedRules,
+            engine.getAllRuleDetails().stream()
+                .map(StandaloneRuleDetails::getKey)
+                .filter(ruleKey -> !excludedRuleKeys.contains(ruleKey))
+                .map(RuleKey::parse)
+                .collect(Collectors.toList()),
+            getRuleParameters(project),
+            SonarLintUtils.getMergedExtraPropertiesAndReplaceVariables(this, project)
+        );
+        synchronized (ruleConfigurationByProject) {
+            // Configuration changed while building snapshot
+            if (generation == ruleConfigurationGeneration.get()) {
+                ruleConfigurationByProject.put(project, ruleConfiguration);
             }
         }
-        return false;
+        return ruleConfiguration;
+    }
+
+    private void invalidateRuleConfigurations() {
+        synchronized (ruleConfigurationByProject) {
+            ruleConfigurationGeneration.incrementAndGet();
+            ruleConfigurationByProject.clear();
+            ruleMetadataByProject.clear();
+            exclusionsByProject.clear();
+        }
+    }
+
+    @Override
+    public boolean isExcluded(RuleDetails ruleDetails, Project project) {
+        SonarLintMetadataStore.Metadata metadata = getStoredMetadataWhileStarting();
+        if (metadata != null) {
+            return getExcludedRuleKeysWhileStarting(project, metadata).contains(ruleDetails.getKey());
+        }
+        return getRuleConfiguration(project).isExcluded(ruleDetails.getKey());
+    }
+
+    @Override
+    public Map<String, Boolean> areExcluded(Collection<? extends RuleDetails> ruleDetails, Project project) {
+        Map<String, Boolean> excludedByRuleKey = new HashMap<>();
+        SonarLintMetadataStore.Metadata metadata = getStoredMetadataWhileStarting();
+        if (metadata != null) {
+            Set<String> excludedRuleKeys = getExcludedRuleKeysWhileStarting(project, metadata);
+            for (RuleDetails ruleDetail : ruleDetails) {
+                excludedByRuleKey.put(ruleDetail.getKey(), excludedRuleKeys.contains(ruleDetail.getKey()));
+            }
+            return excludedByRuleKey;
+        }
+        RuleConfigurationSnapshot ruleConfiguration = getRuleConfiguration(project);
+        for (RuleDetails ruleDetail : ruleDetails) {
+            excludedByRuleKey.put(ruleDetail.getKey(), ruleConfiguration.isExcluded(ruleDetail.getKey()));
+        }
+        return excludedByRuleKey;
+    }
+
+    /**
+     * Retrieve excluded rules without waiting engine, rules not active by default are excluded if project has no exclusion
+     * @param project project to search excluded rule
+     * @param metadata metadata of previous start
+     * @return keys of excluded rules
+     */
+    private Set<String> getExcludedRuleKeysWhileStarting(Project project, SonarLintMetadataStore.Metadata metadata) {
+        if (getPreferences(project).get(PREFIX_EXCLUDE_RULE, null) == null) {
+            return metadata.getRules().stream()
+                .filter(ruleDetails -> !ruleDetails.isActiveByDefault())
+                .map(StandaloneRuleDetails::getKey)
+                .collect(Collectors.toSet());
+        }
+        return getExcludedRules(project).stream()
+            .map(RuleKey::toString)
+            .collect(Collectors.toSet());
     }
 
     @Override
     public AnalysisResults analyze(StandaloneAnalysisConfiguration configuration, IssueListener issueListener, ClientLogOutput logOutput, ClientProgressMonitor monitor) {
-        waitingInitialization();
-        return standaloneSonarLintEngineImpl.analyze(configuration, issueListener, logOutput, monitor);
+        return analyze(configuration, issueListener, logOutput, monitor, SonarLintAnalysisExecutor.Priority.BACKGROUND);
     }
 
     @Override
-    public void waitingInitialization() {
-        while (standaloneSonarLintEngineImpl == null) {
-            try {
-                Thread.sleep(100L);
-            } catch (InterruptedException ex) {
-                Logger.getLogger(SonarLintEngineImpl.class.getName()).log(Level.SEVERE, null, ex);
-                Thread.currentThread().interrupt();
+    public AnalysisResults analyze(
+        StandaloneAnalysisConfiguration configuration,
+        IssueListener issueListener,
+        ClientLogOutput logOutput,
+        ClientProgressMonitor monitor,
+        SonarLintAnalysisExecutor.Priority priority
+    ) {
+        List<ClientInputFile> inputFiles = new ArrayList<>();
+        configuration.inputFiles().forEach(inputFiles::add);
+        if (priority == SonarLintAnalysisExecutor.Priority.EDITOR || inputFiles.size() <= ANALYSIS_CHUNK_SIZE) {
+            return analysisExecutor.execute(
+                priority,
+                monitor,
+                () -> analyzeWithServingEngine(configuration, issueListener, logOutput, monitor)
+            );
+        }
+        // Each chunk is admitted separately to let analyses of higher priority run between two chunks
+        AnalysisResultsMergerable analysisResults = new AnalysisResultsMergerable();
+        for (int start = 0; start < inputFiles.size(); start += ANALYSIS_CHUNK_SIZE) {
+            if (monitor != null && monitor.isCanceled()) {
+                throw new CanceledException();
             }
+            StandaloneAnalysisConfiguration chunkConfiguration = withInputFiles(
+                configuration,
+                inputFiles.subList(start, Math.min(start + ANALYSIS_CHUNK_SIZE, inputFiles.size()))
+            );
+            analysisResults.merge(analysisExecutor.execute(
+                priority,
+                monitor,
+                () -> analyzeWithServingEngine(chunkConfiguration, issueListener, logOutput, monitor)
+            ));
+        }
+        return analysisResults;
+    }
+
+    private static StandaloneAnalysisConfiguration withInputFiles(StandaloneAnalysisConfiguration configuration, List<ClientInputFile> inputFiles) {
+        return StandaloneAnalysisConfiguration.builder()
+            .setBaseDir(configuration.baseDir())
+            .setModuleKey(configuration.moduleKey())
+            .addInputFiles(inputFiles)
+            .addExcludedRules(configuration.excludedRules())
+            .addIncludedRules(configuration.includedRules())
+            .addRuleParameters(configuration.ruleParameters())
+            .putAllExtraProperties(configuration.extraProperties())
+            .build();
+    }
+
+    private AnalysisResults analyzeWithServingEngine(StandaloneAnalysisConfiguration configuration, IssueListener issueListener, ClientLogOutput logOutput, ClientProgressMonitor monitor) {
+        ServingEngine currentServingEngine = getServingEngine();
+        // Engine retired between retrieval and acquisition was already replaced
+        while (!currentServingEngine.acquire()) {
+            currentServingEngine = getServingEngine();
+        }
+        try {
+            return currentServingEngine.engine.analyze(configuration, issueListener, logOutput, monitor);
+        } finally {
+            currentServingEngine.release();
+        }
+    }
+
+    /**
+     * Retrieve engine used by analyses, block current Thread while no engine is ready
+     * @return engine used by analyses
+     * @throws IllegalStateException if engine is stopped
+     */
+    private ServingEngine getServingEngine() {
+        ServingEngine currentServingEngine = servingEngine;
+        while (currentServingEngine == null) {
+            if (stopped) {
+                throw new IllegalStateException("SonarLint engine stopped");
+            }
+            getInternalEngine();
+            currentServingEngine = servingEngine;
+        }
+        return currentServingEngine;
+    }
+
+    /**
+     * Block current Thread while engine is not ready and retrieve it
+     * @return initialized engine
+     */
+    private StandaloneSonarLintEngineImpl getInternalEngine() {
+        try {
+            return initializedEngine.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new CanceledException();
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("SonarLint engine initialization failed", ex.getCause());
         }
     }
 
     @Override
-    public void whenInitialized(Consumer<SonarLintEngine> consumer) {
-        if (standaloneSonarLintEngineImpl != null) {
-            consumer.accept(this);
-        } else {
-            consumerWaitingInitialization.add(consumer);
+    public void waitingInitialization() {
+        getInternalEngine();
+    }
+
+    @Override
+    public boolean waitingInitialization(long timeout, TimeUnit unit) {
+        try {
+            initializedEngine.get(timeout, unit);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException ex) {
+            return false;
         }
     }
 
+    @Override
+    public CompletableFuture<StandaloneSonarLintEngineImpl> getInitializedEngine() {
+        return initializedEngine;
+    }
+
+    @Override
+    public void whenInitialized(Consumer<SonarLintEngine> consumer) {
+        initializedEngine.thenAccept(engine -> consumer.accept(this));
+    }
+
     @Override
     public void whenRestarted(Consumer<SonarLintEngine> consumer) {
         consumerRestarted.add(consumer);
     }
 
+    @Override
+    public void whenRulesAvailable(Consumer<SonarLintEngine> consumer) {
+        whenRulesAvailable(
+            consumer,
+            error -> LOG.log(Level.FINE, "SonarLint rules not available", error)
+        );
+    }
+
+    @Override
+    public void whenRulesAvailable(Consumer<SonarLintEngine> consumer, Consumer<Throwable> errorConsumer) {
+        rulesAvailable.whenComplete((Void available, Throwable error) -> {
+            if (error == null) {
+                consumer.accept(this);
+            } else {
+                errorConsumer.accept(error);
+            }
+        });
+    }
+
+    /**
+     * Retrieve metadata of previous start while no engine is ready
+     * @return metadata of previous start or null if an engine is ready or metadata is unknown
+     */
+    private SonarLintMetadataStore.Metadata getStoredMetadataWhileStarting() {
+        return servingEngine == null ? storedMetadata : null;
+    }
+
     @Override
     public Collection<StandaloneRuleDetails> getAllRuleDetails() {
-        waitingInitialization();
-        return standaloneSonarLintEngineImpl.getAllRuleDetails();
+        SonarLintMetadataStore.Metadata metadata = getStoredMetadataWhileStarting();
+        if (metadata != null) {
+            return metadata.getRules();
+        }
+        return getServingEngine().engine.getAllRuleDetails();
+    }
+
+    @Override
+    public SonarLintRuleCatalog getRuleCatalog() {
+        SonarLintMetadataStore.Metadata metadata = getStoredMetadataWhileStarting();
+        if (metadata != null) {
+            return metadata.getRuleCatalog();
+        }
+        return ruleCatalogByEngine.computeIfAbsent(
+            getServingEngine().engine,
+            engine -> new SonarLintRuleCatalog(engine.getAllRuleDetails())
+        );
     }
 
     @Override
     public Collection<PluginDetails> getPluginDetails() {
-        waitingInitialization();
-        return standaloneSonarLintEngineImpl.getPluginDetails();
+        return getServingEngine().engine.getPluginDetails();
+    }
+
+    @Override
+    public List<SonarLintAnalyzerDetails> getAnalyzerDetails() {
+        SonarLintMetadataStore.Metadata metadata = getStoredMetadataWhileStarting();
+        if (metadata != null) {
+            return metadata.getAnalyzers();
+        }
+        return getPluginDetails().stream()
+            .map(SonarLintAnalyzerDetails::from)
+            .collect(Collectors.toList());
     }
 
     @Override
     public Optional<StandaloneRuleDetails> getRuleDetails(String ruleKey) {
-        waitingInitialization();
-        return standaloneSonarLintEngineImpl.getRuleDetails(ruleKey);
+        SonarLintMetadataStore.Metadata metadata = getStoredMetadataWhileStarting();
+        if (metadata != null) {
+            return metadata.getRuleDetails(ruleKey);
+        }
+        return getServingEngine().engine.getRuleDetails(ruleKey);
+    }
+
+    @Override
+    public Optional<SonarLintRuleMetadata> getRuleMetadata(String ruleKey, Project project) {
+        Map<String, Optional<SonarLintRuleMetadata>> ruleMetadataByKey = ruleMetadataByProject.get(project);
+        Optional<SonarLintRuleMetadata> cachedRuleMetadata = ruleMetadataByKey == null ? null : ruleMetadataByKey.get(ruleKey);
+        if (cachedRuleMetadata != null) {
+            return cachedRuleMetadata;
+        }
+        long generation = ruleConfigurationGeneration.get();
+        Optional<SonarLintRuleMetadata> ruleMetadata = getRuleDetails(ruleKey).map(ruleDetails -> new SonarLintRuleMetadata(
+            ruleDetails,
+            SonarLintUtils.extractRuleParameters(this, ruleKey, project)
+        ));
+        synchronized (ruleConfigurationByProject) {
+            // Engine or configuration changed while building metadata
+            if (generation == ruleConfigurationGeneration.get()) {
+                ruleMetadataByProject.computeIfAbsent(project, p -> new ConcurrentHashMap<>()).put(ruleKey, ruleMetadata);
+            }
+        }
+        return ruleMetadata;
     }
 
     @Override
@@ -339,6 +835,7 @@ public final class SonarLintEngineImpl implements SonarLintEngine {
     }
 
     private void fireConfigurationChange() {
+        invalidateRuleConfigurations();
         configurationChanged.forEach(consumer -> consumer.accept(this));
     }
 
@@ -438,6 +935,34 @@ public final class SonarLintEngineImpl implements SonarLintEngine {
     @Override
     public void setExtraProperties(Map<String, String> extraProperties, Project project) {
         getPreferences(project).put(PREFIX_RUNTIME_EXTRA_PROPERTIES_PREFERENCE, gson.toJson(extraProperties));
+        invalidateRuleConfigurations();
+    }
+
+    @Override
+    public SonarLintExclusions getExclusions(Project project) {
+        SonarLintExclusions cachedExclusions = exclusionsByProject.get(project);
+        if (cachedExclusions != null) {
+            return cachedExclusions;
+        }
+        long generation = ruleConfigurationGeneration.get();
+        // Global and project patterns are both applied
+        List<String> patterns = new ArrayList<>(SonarLintExclusions.toPatterns(getExtraProperties(SonarLintEngine.GLOBAL_SETTINGS_PROJECT).get(SonarLintExclusions.EXCLUSIONS_PROPERTY)));
+        Path baseDirectory = null;
+        if (project != SonarLintEngine.GLOBAL_SETTINGS_PROJECT) {
+            patterns.addAll(SonarLintExclusions.toPatterns(getExtraProperties(project).get(SonarLintExclusions.EXCLUSIONS_PROPERTY)));
+            File projectDirectory = FileUtil.toFile(project.getProjectDirectory());
+            baseDirectory = projectDirectory == null ? null : projectDirectory.toPath();
+        }
+        SonarLintExclusions exclusions = patterns.isEmpty()
+            ? SonarLintExclusions.NONE
+            : new SonarLintExclusions(baseDirectory, patterns);
+        synchronized (ruleConfigurationByProject) {
+            // Configuration changed while compiling patterns
+            if (generation == ruleConfigurationGeneration.get()) {
+                exclusionsByProject.put(project, exclusions);
+            }
+        }
+        return exclusions;
     }
 
     private SonarLintDataManager getSonarLintDataManager()
@@ -447,8 +972,65 @@ public final class SonarLintEngineImpl implements SonarLintEngine {
 
     @Override
     public void stop() {
-        if (standaloneSonarLintEngineImpl != null) {
-            standaloneSonarLintEngineImpl.stop();
+        ServingEngine currentServingEngine;
+        synchronized (engineGeneration) {
+            stopped = true;
+            currentServingEngine = servingEngine;
+            servingEngine = null;
+            storedMetadata = null;
+        }
+        // Waiting analyses fail instead of waiting an engine never created
+        initializedEngine.completeExceptionally(new IllegalStateException("SonarLint engine stopped"));
+        if (currentServingEngine != null) {
+            currentServingEngine.retire();
+        }
+    }
+
+    /**
+     * Engine with count of running analyses to stop it only when all its analyses are done
+     */
+    private static final class ServingEngine {
+        private final StandaloneSonarLintEngineImpl engine;
+        private final long generation;
+        private int runningAnalyses;
+        private boolean retired;
+
+        private ServingEngine(StandaloneSonarLintEngineImpl engine, long generation) {
+            this.engine = engine;
+            this.generation = generation;
+        }
+
+        private synchronized boolean acquire() {
+            if (retired) {
+                return false;
+            }
+            runningAnalyses++;
+            return true;
+        }
+
+        private void release() {
+            boolean stop;
+            synchronized (this) {
+                runningAnalyses--;
+                stop = retired && runningAnalyses == 0;
+            }
+            if (stop) {
+                engine.stop();
+            }
+        }
+
+        private void retire() {
+            boolean stop;
+            synchronized (this) {
+                if (retired) {
+                    return;
+                }
+                retired = true;
+                stop = runningAnalyses == 0;
+            }
+            if (stop) {
+                engine.stop();
+            }
         }
     }
 
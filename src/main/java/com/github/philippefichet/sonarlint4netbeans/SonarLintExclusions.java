@@ -0,0 +1,119 @@
+/*
+ * sonarlint4netbeans: SonarLint integration for Apache Netbeans
+ * Copyright (C) 2023 Philippe FICHET.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package com.github.philippefichet.sonarlint4netbeans;
+
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Exclusion patterns of files not supposed to be analyzed, compiled once for a project.
+ * Patterns are read from extra property "sonar.exclusions" of global and project settings, separated by comma.
+ * A pattern is a glob unless prefixed by "regex:", it is matched against path relative to project directory and absolute path.
+ * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
+ */
+public final class SonarLintExclusions {
+
+    public static final String EXCLUSIONS_PROPERTY = "sonar.exclusions";
+    public static final SonarLintExclusions NONE = new SonarLintExclusions(null, Collections.emptyList());
+    private static final Logger LOG = Logger.getLogger(SonarLintExclusions.class.getCanonicalName());
+    private static final String GLOB_SYNTAX = "glob:";
+    private static final String REGEX_SYNTAX = "regex:";
+    private final Path baseDirectory;
+    private final List<PathMatcher> pathMatchers;
+
+    /**
+     * Compile exclusion patterns, invalid patterns are ignored
+     * @param baseDirectory directory of project used for relative paths or null to match only absolute paths
+     * @param patterns glob or regex (prefixed by "regex:") patterns
+     */
+    public SonarLintExclusions(Path baseDirectory, Collection<String> patterns) {
+        this.baseDirectory = baseDirectory == null ? null : baseDirectory.toAbsolutePath().normalize();
+        List<PathMatcher> matchers = new ArrayList<>(patterns.size());
+        for (String pattern : patterns) {
+            try {
+                matchers.add(FileSystems.getDefault().getPathMatcher(toSyntaxAndPattern(pattern)));
+            } catch (IllegalArgumentException ex) {
+                LOG.log(Level.WARNING, "Invalid exclusion pattern \"{0}\": {1}", new Object[]{pattern, ex.getMessage()});
+            }
+        }
+        this.pathMatchers = Collections.unmodifiableList(matchers);
+    }
+
+    /**
+     * Split value of "sonar.exclusions" property to patterns
+     * @param exclusions patterns separated by comma, may be null
+     * @return all non blank patterns
+     */
+    public static List<String> toPatterns(String exclusions) {
+        if (exclusions == null || exclusions.isBlank()) {
+            return Collections.emptyList();
+        }
+        List<String> patterns = new ArrayList<>();
+        Arrays.stream(exclusions.split(","))
+            .map(String::trim)
+            .filter(pattern -> !pattern.isEmpty())
+            .forEach(patterns::add);
+        return patterns;
+    }
+
+    private static String toSyntaxAndPattern(String pattern) {
+        if (pattern.startsWith(REGEX_SYNTAX) || pattern.startsWith(GLOB_SYNTAX)) {
+            return pattern;
+        }
+        return GLOB_SYNTAX + pattern;
+    }
+
+    /**
+     * Retrieve true if no pattern can exclude a file
+     * @return true if no pattern can exclude a file
+     */
+    public boolean isEmpty() {
+        return pathMatchers.isEmpty();
+    }
+
+    /**
+     * Retrieve true if a file or directory match an exclusion pattern
+     * @param path file or directory to check
+     * @return true if path match an exclusion pattern
+     */
+    public boolean isExcluded(Path path) {
+        if (pathMatchers.isEmpty()) {
+            return false;
+        }
+        Path absolutePath = path.toAbsolutePath().normalize();
+        Path relativePath = baseDirectory != null && absolutePath.startsWith(baseDirectory)
+            ? baseDirectory.relativize(absolutePath)
+            : null;
+        for (PathMatcher pathMatcher : pathMatchers) {
+            if ((relativePath != null && pathMatcher.matches(relativePath)) || pathMatcher.matches(absolutePath)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,315 @@
+/*
+ * sonarlint4netbeans: SonarLint integration for Apache Netbeans
+ * Copyright (C) 2023 Philippe FICHET.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package com.github.philippefichet.sonarlint4netbeans;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import org.netbeans.api.project.Project;
+import org.sonarsource.sonarlint.core.analysis.api.ClientInputFile;
+import org.sonarsource.sonarlint.core.client.api.common.analysis.Issue;
+
+/**
+ * Keep fingerprint (modification date, size, content hash, rule configuration) and issues of each analyzed file
+ * to analyze only files changed since the previous deep analysis.
+ * Content hash is computed only for files whose modification date or size changed, to detect files touched but not modified.
+ * A store is saved by project in JSON under {@link #defaultStoreDirectory()}
+ * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
+ */
+public final class SonarLintIncrementalAnalysis {
+
+    private static final Logger LOG = Logger.getLogger(SonarLintIncrementalAnalysis.class.getName());
+    private static final int STORE_VERSION = 1;
+
+    private final Gson gson = new Gson();
+    private final SonarLintEngine sonarLintEngine;
+    private final SonarLintDataManager dataManager;
+    private final Path storeDirectory;
+    private final Map<String, Store> storeByKey = new HashMap<>();
+    private final Map<ConfigurationKey, String> fingerprintByConfiguration = new HashMap<>();
+    private final Map<Path, PendingFile> pendingFiles = new HashMap<>();
+    private final Map<Path, List<SonarLintStoredIssue>> recordedIssues = new HashMap<>();
+
+    public SonarLintIncrementalAnalysis(SonarLintEngine sonarLintEngine, SonarLintDataManager dataManager, Path storeDirectory) {
+        this.sonarLintEngine = sonarLintEngine;
+        this.dataManager = dataManager;
+        this.storeDirectory = storeDirectory;
+    }
+
+    /**
+     * Default directory of stores
+     * @return directory "incremental" in SonarLint home of plugin
+     */
+    public static Path defaultStoreDirectory() {
+        return Paths.get(System.getProperty("user.home"), ".sonarlint4netbeans", "incremental");
+    }
+
+    /**
+     * Retrieve files to analyze, files unchanged since previous analysis with the same rule configuration
+     * are not returned and their previous issues are given to consumer
+     * @param files all files of analysis
+     * @param unchangedFileIssues consumer of issues of unchanged files
+     * @return files to analyze
+     */
+    public synchronized List<File> filterChangedFiles(List<File> files, BiConsumer<File, List<Issue>> unchangedFileIssues) {
+        List<File> changedFiles = new ArrayList<>();
+        for (File file : files) {
+            Project project = dataManager.getProject(file).orElse(SonarLintEngine.GLOBAL_SETTINGS_PROJECT);
+            boolean isTest = dataManager.isTest(file);
+            String configurationFingerprint = configurationFingerprint(project, isTest);
+            Store store = getStore(project);
+            Path path = file.toPath().toAbsolutePath();
+            FileState previousState = store.files.get(path.toString());
+            try {
+                long lastModified = Files.getLastModifiedTime(path).toMillis();
+                long size = Files.size(path);
+                if (previousState != null && previousState.sameConfiguration(configurationFingerprint)) {
+                    if (previousState.lastModified == lastModified && previousState.size == size) {
+                        unchangedFileIssues.accept(file, toIssues(previousState, path, isTest, file));
+                        continue;
+                    }
+                    // Touched but maybe not modified (checkout, build, ...), hash is unknown until a first change
+                    String contentHash = SonarLintIssueCache.sha256(Files.readAllBytes(path));
+                    if (contentHash.equals(previousState.contentHash)) {
+                        previousState.lastModified = lastModified;
+                        previousState.size = size;
+                        store.modified = true;
+                        unchangedFileIssues.accept(file, toIssues(previousState, path, isTest, file));
+                        continue;
+                    }
+                    pendingFiles.put(path, new PendingFile(store, lastModified, size, contentHash, configurationFingerprint));
+                } else {
+                    // Content is read only by analyzer, hash is computed when modification date or size changes
+                    String contentHash = previousState != null && previousState.lastModified == lastModified && previousState.size == size
+                        ? previousState.contentHash
+                        : null;
+                    pendingFiles.put(path, new PendingFile(store, lastModified, size, contentHash, configurationFingerprint));
+                }
+            } catch (IOException ex) {
+                LOG.log(Level.FINE, "Unable to compute fingerprint of \"" + path + "\"", ex);
+            }
+            changedFiles.add(file);
+        }
+        return changedFiles;
+    }
+
+    /**
+     * Record an issue found during analysis of changed files
+     * @param issue issue found
+     */
+    public synchronized void record(Issue issue) {
+        ClientInputFile inputFile = issue.getInputFile();
+        if (inputFile == null) {
+            return;
+        }
+        // uri() does not notify listeners of analysis progress unlike getPath()
+        Path path = Paths.get(inputFile.uri()).toAbsolutePath();
+        recordedIssues.computeIfAbsent(path, (Path p) -> new ArrayList<>())
+            .add(SonarLintStoredIssue.from(issue));
+    }
+
+    /**
+     * Save fingerprint and issues of analyzed files, failed files will be analyzed again next time
+     * @param failedAnalysisFiles files in failure during analysis
+     */
+    public synchronized void save(Collection<ClientInputFile> failedAnalysisFiles) {
+        Set<Path> failedPaths = failedAnalysisFiles.stream()
+            .map(ClientInputFile::uri)
+            .map(Paths::get)
+            .map(Path::toAbsolutePath)
+            .collect(Collectors.toSet());
+        for (Map.Entry<Path, PendingFile> entry : pendingFiles.entrySet()) {
+            Path path = entry.getKey();
+            PendingFile pendingFile = entry.getValue();
+            if (failedPaths.contains(path)) {
+                pendingFile.store.files.remove(path.toString());
+            } else {
+                FileState state = new FileState();
+                state.lastModified = pendingFile.lastModified;
+                state.size = pendingFile.size;
+                state.contentHash = pendingFile.contentHash;
+                state.configurationFingerprint = pendingFile.configurationFingerprint;
+                state.issues = recordedIssues.getOrDefault(path, Collections.emptyList());
+                pendingFile.store.files.put(path.toString(), state);
+            }
+            pendingFile.store.modified = true;
+        }
+        pendingFiles.clear();
+        recordedIssues.clear();
+        for (Map.Entry<String, Store> entry : storeByKey.entrySet()) {
+            Store store = entry.getValue();
+            // Forget deleted files
+            if (store.files.keySet().removeIf(path -> !Files.exists(Paths.get(path)))) {
+                store.modified = true;
+            }
+            if (store.modified) {
+                write(entry.getKey(), store);
+            }
+        }
+    }
+
+    private List<Issue> toIssues(FileState state, Path path, boolean isTest, File file) {
+        if (state.issues == null || state.issues.isEmpty()) {
+            return Collections.emptyList();
+        }
+        ClientInputFile inputFile = new FSClientInputFile(
+            path,
+            path.toFile().getName(),
+            isTest,
+            dataManager.getEncoding(file).orElse(null)
+        );
+        List<Issue> issues = new ArrayList<>(state.issues.size());
+        for (SonarLintStoredIssue storedIssue : state.issues) {
+            issues.add(storedIssue.withInputFile(inputFile));
+        }
+        return issues;
+    }
+
+    private String configurationFingerprint(Project project, boolean isTest) {
+        return fingerprintByConfiguration.computeIfAbsent(new ConfigurationKey(project, isTest), (ConfigurationKey key) -> {
+            Project projectForRules = SonarLintDataManagerUtils.getProjectForAnalyse(dataManager, project);
+            String configurationFingerprint = SonarLintIssueCache.fingerprint(
+                isTest,
+                sonarLintEngine.getRuleConfiguration(projectForRules).getRulesFingerprint(),
+                sonarLintEngine.getRuleConfiguration(project).getExtraPropertiesFingerprint()
+            );
+            return SonarLintIssueCache.withAnalyzers(configurationFingerprint, sonarLintEngine.getPluginDetails());
+        });
+    }
+
+    private Store getStore(Project project) {
+        return storeByKey.computeIfAbsent(SonarLintIssueStore.toStoreKey(project), this::read);
+    }
+
+    private Path toStorePath(String storeKey) {
+        return storeDirectory.resolve(SonarLintIssueCache.sha256(storeKey) + ".json");
+    }
+
+    private Store read(String storeKey) {
+        Path storePath = toStorePath(storeKey);
+        if (Files.isRegularFile(storePath)) {
+            try (Reader reader = Files.newBufferedReader(storePath, StandardCharsets.UTF_8)) {
+                Store store = gson.fromJson(reader, Store.class);
+                if (store != null && store.version == STORE_VERSION && store.files != null) {
+                    return store;
+                }
+            } catch (IOException | JsonParseException ex) {
+                LOG.log(Level.WARNING, "Unable to read incremental analysis store \"" + storePath + "\"", ex);
+            }
+        }
+        return new Store();
+    }
+
+    private void write(String storeKey, Store store) {
+        Path storePath = toStorePath(storeKey);
+        try {
+            Files.createDirectories(storeDirectory);
+            Path temporaryStorePath = storeDirectory.resolve(storePath.getFileName() + ".tmp");
+            try (Writer writer = Files.newBufferedWriter(temporaryStorePath, StandardCharsets.UTF_8)) {
+                gson.toJson(store, writer);
+            }
+            Files.move(temporaryStorePath, storePath, StandardCopyOption.REPLACE_EXISTING);
+            store.modified = false;
+        } catch (IOException ex) {
+            LOG.log(Level.WARNING, "Unable to write incremental analysis store \"" + storePath + "\"", ex);
+        }
+    }
+
+    private static final class Store {
+        private int version = STORE_VERSION;
+        private Map<String, FileState> files = new HashMap<>();
+        private transient boolean modified;
+    }
+
+    private static final class FileState {
+        private long lastModified;
+        private long size;
+        private String contentHash;
+        private String configurationFingerprint;
+        private List<SonarLintStoredIssue> issues;
+
+        private boolean sameConfiguration(String configurationFingerprint) {
+            return Objects.equals(this.configurationFingerprint, configurationFingerprint);
+        }
+    }
+
+    private static final class PendingFile {
+        private final Store store;
+        private final long lastModified;
+        private final long size;
+        private final String contentHash;
+        private final String configurationFingerprint;
+
+        private PendingFile(Store store, long lastModified, long size, String contentHash, String configurationFingerprint) {
+            this.store = store;
+            this.lastModified = lastModified;
+            this.size = size;
+            this.contentHash = contentHash;
+            this.configurationFingerprint = configurationFingerprint;
+        }
+    }
+
+    private static final class ConfigurationKey {
+        private final Project project;
+        private final boolean isTest;
+
+        private ConfigurationKey(Project project, boolean isTest) {
+            this.project = project;
+            this.isTest = isTest;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(project, isTest);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            ConfigurationKey other = (ConfigurationKey) obj;
+            return isTest == other.isTest && Objects.equals(project, other.project);
+        }
+    }
+}
@@ -0,0 +1,286 @@
+/*
+ * sonarlint4netbeans: SonarLint integration for Apache Netbeans
+ * Copyright (C) 2023 Philippe FICHET.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package com.github.philippefichet.sonarlint4netbeans;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.stream.Collectors;
+import org.sonarsource.sonarlint.core.client.api.common.PluginDetails;
+import org.sonarsource.sonarlint.core.client.api.common.analysis.Issue;
+import org.sonarsource.sonarlint.core.commons.RuleKey;
+
+/**
+ * Bounded LRU cache of issues by file, content and rule configuration.
+ * Used to skip analysis when the same content is analyzed again with the same configuration
+ * (undo/redo, reparse without change, ...)
+ * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
+ */
+public final class SonarLintIssueCache {
+
+    public static final int DEFAULT_MAXIMUM_SIZE = 100;
+    private final Map<Key, List<Issue>> issuesByKey;
+    private final Set<SonarLintEngine> watchedEngines = Collections.newSetFromMap(new WeakHashMap<>());
+
+    public SonarLintIssueCache(int maximumSize) {
+        issuesByKey = new LinkedHashMap<Key, List<Issue>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, List<Issue>> eldest) {
+                return size() > maximumSize;
+            }
+        };
+    }
+
+    /**
+     * Retrieve issues previously found with same file, content and configuration
+     * @param key key of analysis
+     * @return copy of issues previously found if exists
+     */
+    public Optional<List<Issue>> get(Key key) {
+        synchronized (issuesByKey) {
+            List<Issue> issues = issuesByKey.get(key);
+            return issues == null ? Optional.empty() : Optional.of(new ArrayList<>(issues));
+        }
+    }
+
+    /**
+     * Store issues found for a file, content and configuration
+     * @param key key of analysis
+     * @param issues issues found
+     */
+    public void put(Key key, List<Issue> issues) {
+        synchronized (issuesByKey) {
+            issuesByKey.put(key, Collections.unmodifiableList(new ArrayList<>(issues)));
+        }
+    }
+
+    /**
+     * Remove all issues
+     */
+    public void clear() {
+        synchronized (issuesByKey) {
+            issuesByKey.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (issuesByKey) {
+            return issuesByKey.size();
+        }
+    }
+
+    /**
+     * Clear cache each time engine is restarted or replaced (plugins or Node.js can change issues found)
+     * @param sonarLintEngine engine to watch
+     */
+    public void watch(SonarLintEngine sonarLintEngine) {
+        synchronized (watchedEngines) {
+            if (!watchedEngines.add(sonarLintEngine)) {
+                return;
+            }
+        }
+        clear();
+        clearWhenRestarted(sonarLintEngine);
+    }
+
+    private void clearWhenRestarted(SonarLintEngine sonarLintEngine) {
+        // Consumers of restart are called once, registered again even if initialization of engine fails
+        sonarLintEngine.whenRestarted(restartedEngine -> {
+            clear();
+            clearWhenRestarted(restartedEngine);
+            // Previous engine can analyze while new engine starts
+            restartedEngine.whenInitialized(initializedEngine -> clear());
+        });
+    }
+
+    /**
+     * Create fingerprint of all rule configuration affecting issues found
+     * @param applyTestRules true if test rules are applied
+     * @param excludedRules excluded rules
+     * @param includedRules included rules
+     * @param ruleParameters rule parameters
+     * @param extraProperties extra properties
+     * @return fingerprint of rule configuration
+     */
+    public static String fingerprint(
+        boolean applyTestRules,
+        Collection<RuleKey> excludedRules,
+        Collection<RuleKey> includedRules,
+        Map<RuleKey, Map<String, String>> ruleParameters,
+        Map<String, String> extraProperties
+    ) {
+        return fingerprint(
+            applyTestRules,
+            rulesFingerprint(excludedRules, includedRules, ruleParameters),
+            extraPropertiesFingerprint(extraProperties)
+        );
+    }
+
+    /**
+     * Create fingerprint of all rule configuration affecting issues found from fingerprints of its parts
+     * @param applyTestRules true if test rules are applied
+     * @param rulesFingerprint fingerprint of excluded rules, included rules and rule parameters
+     * @param extraPropertiesFingerprint fingerprint of extra properties
+     * @return fingerprint of rule configuration
+     */
+    public static String fingerprint(boolean applyTestRules, String rulesFingerprint, String extraPropertiesFingerprint) {
+        return sha256("test=" + applyTestRules + "\nrules=" + rulesFingerprint + "\nextraProperties=" + extraPropertiesFingerprint);
+    }
+
+    /**
+     * Create fingerprint of excluded rules, included rules and rule parameters
+     * @param excludedRules excluded rules
+     * @param includedRules included rules
+     * @param ruleParameters rule parameters
+     * @return fingerprint of rules
+     */
+    public static String rulesFingerprint(
+        Collection<RuleKey> excludedRules,
+        Collection<RuleKey> includedRules,
+        Map<RuleKey, Map<String, String>> ruleParameters
+    ) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("excluded=").append(sortedRuleKeys(excludedRules)).append('\n');
+        sb.append("included=").append(sortedRuleKeys(includedRules)).append('\n');
+        Map<String, Map<String, String>> sortedRuleParameters = new TreeMap<>();
+        ruleParameters.forEach((ruleKey, params) -> sortedRuleParameters.put(ruleKey.toString(), new TreeMap<>(params)));
+        sb.append("parameters=").append(sortedRuleParameters);
+        return sha256(sb.toString());
+    }
+
+    /**
+     * Create fingerprint of extra properties
+     * @param extraProperties extra properties
+     * @return fingerprint of extra properties
+     */
+    public static String extraPropertiesFingerprint(Map<String, String> extraProperties) {
+        return sha256(new TreeMap<>(extraProperties).toString());
+    }
+
+    /**
+     * Add analyzers (key and version) to a fingerprint of rule configuration,
+     * a new version of an analyzer can find different issues
+     * @param configurationFingerprint fingerprint of rule configuration
+     * @param pluginDetails loaded analyzers
+     * @return fingerprint of rule configuration and analyzers
+     */
+    public static String withAnalyzers(String configurationFingerprint, Collection<PluginDetails> pluginDetails) {
+        String analyzers = pluginDetails.stream()
+            .map(pluginDetail -> pluginDetail.key() + ":" + pluginDetail.version())
+            .sorted()
+            .collect(Collectors.joining(","));
+        return sha256(configurationFingerprint + "\n" + analyzers);
+    }
+
+    private static List<String> sortedRuleKeys(Collection<RuleKey> ruleKeys) {
+        return ruleKeys.stream()
+            .map(RuleKey::toString)
+            .sorted()
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Compute SHA-256 hash of content
+     * @param content content to hash
+     * @return SHA-256 hash in hexadecimal
+     */
+    public static String sha256(String content) {
+        return sha256(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Compute SHA-256 hash of content
+     * @param content content to hash
+     * @return SHA-256 hash in hexadecimal
+     */
+    public static String sha256(byte[] content) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return new BigInteger(1, messageDigest.digest(content)).toString(16);
+        } catch (NoSuchAlgorithmException ex) {
+            // SHA-256 is required on every Java platform
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Key of an analysis
+     */
+    public static final class Key {
+        private final String path;
+        private final String contentHash;
+        private final String configurationFingerprint;
+
+        public Key(Path path, String content, String configurationFingerprint) {
+            this.path = path.toAbsolutePath().toString();
+            this.contentHash = sha256(content);
+            this.configurationFingerprint = configurationFingerprint;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public String getContentHash() {
+            return contentHash;
+        }
+
+        public String getConfigurationFingerprint() {
+            return configurationFingerprint;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(path, contentHash, configurationFingerprint);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return path.equals(other.path)
+                && contentHash.equals(other.contentHash)
+                && configurationFingerprint.equals(other.configurationFingerprint);
+        }
+
+        @Override
+        public String toString() {
+            return "Key{" + "path=" + path + ", contentHash=" + contentHash + ", configurationFingerprint=" + configurationFingerprint + '}';
+        }
+    }
+}
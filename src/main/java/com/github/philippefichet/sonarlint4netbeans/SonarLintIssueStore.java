@@ -0,0 +1,311 @@
+/*
+ * sonarlint4netbeans: SonarLint integration for Apache Netbeans
+ * Copyright (C) 2023 Philippe FICHET.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package com.github.philippefichet.sonarlint4netbeans;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.netbeans.api.project.Project;
+import org.openide.filesystems.FileObject;
+import org.openide.util.RequestProcessor;
+import org.sonarsource.sonarlint.core.analysis.api.ClientInputFile;
+import org.sonarsource.sonarlint.core.client.api.common.analysis.Issue;
+
+/**
+ * Issues of editor analyses kept on disk between IDE sessions, by file, content and rule configuration.
+ * Each project has its own append-only log of JSON lines, the first line is the version of the log format
+ * and each following line replace issues of a file. Lines are written in background
+ * and log is compacted when it contains too many replaced lines.
+ * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
+ */
+public final class SonarLintIssueStore {
+
+    private static final Logger LOG = Logger.getLogger(SonarLintIssueStore.class.getName());
+    private static final RequestProcessor WRITE_RP = new RequestProcessor(SonarLintIssueStore.class.getName(), 1);
+    private static final int STORE_VERSION = 1;
+    private static final int COMPACTION_FACTOR = 2;
+    private static final String GLOBAL_STORE_KEY = "global";
+
+    private final Gson gson = new Gson();
+    private final Path storeDirectory;
+    private final Map<String, Log> logByStoreKey = new HashMap<>();
+    private final RequestProcessor.Task writeTask = WRITE_RP.create(this::writePendingEntries);
+
+    public SonarLintIssueStore(Path storeDirectory) {
+        this.storeDirectory = storeDirectory;
+    }
+
+    /**
+     * Default directory of stores
+     * @return directory "issues" in SonarLint home of plugin
+     */
+    public static Path defaultStoreDirectory() {
+        return Paths.get(System.getProperty("user.home"), ".sonarlint4netbeans", "issues");
+    }
+
+    /**
+     * Retrieve key of store of a project
+     * @param project project or {@link SonarLintEngine#GLOBAL_SETTINGS_PROJECT} for files outside of project
+     * @return key of store
+     */
+    public static String toStoreKey(Project project) {
+        if (project == SonarLintEngine.GLOBAL_SETTINGS_PROJECT) {
+            return GLOBAL_STORE_KEY;
+        }
+        FileObject projectDirectory = project.getProjectDirectory();
+        return projectDirectory == null ? GLOBAL_STORE_KEY : projectDirectory.getPath();
+    }
+
+    /**
+     * Retrieve issues previously found with same file, content and configuration
+     * @param storeKey key of store of project
+     * @param key key of analysis
+     * @param inputFile file attached to issues
+     * @return issues previously found if exists
+     */
+    public synchronized Optional<List<Issue>> get(String storeKey, SonarLintIssueCache.Key key, ClientInputFile inputFile) {
+        Entry entry = getLog(storeKey).entries.get(key.getPath());
+        if (entry == null || !entry.isSameAnalysis(key)) {
+            return Optional.empty();
+        }
+        return Optional.of(entry.toIssues(inputFile));
+    }
+
+    /**
+     * Retrieve issues previously found with same file and content, whatever the configuration of analysis.
+     * Used while rule configuration is unknown, issues must be checked by a new analysis
+     * @param storeKey key of store of project
+     * @param path file analyzed
+     * @param content content analyzed
+     * @param inputFile file attached to issues
+     * @return issues previously found if exists
+     */
+    public synchronized Optional<List<Issue>> getSameContent(String storeKey, Path path, String content, ClientInputFile inputFile) {
+        Entry entry = getLog(storeKey).entries.get(path.toAbsolutePath().toString());
+        if (entry == null || !SonarLintIssueCache.sha256(content).equals(entry.contentHash)) {
+            return Optional.empty();
+        }
+        return Optional.of(entry.toIssues(inputFile));
+    }
+
+    /**
+     * Store issues found for a file, content and configuration, the store on disk is updated in background
+     * @param storeKey key of store of project
+     * @param key key of analysis
+     * @param issues issues found
+     */
+    public void put(String storeKey, SonarLintIssueCache.Key key, List<Issue> issues) {
+        Entry entry = new Entry();
+        entry.path = key.getPath();
+        entry.contentHash = key.getContentHash();
+        entry.configurationFingerprint = key.getConfigurationFingerprint();
+        entry.issues = new ArrayList<>(issues.size());
+        for (Issue issue : issues) {
+            entry.issues.add(SonarLintStoredIssue.from(issue));
+        }
+        synchronized (this) {
+            Log log = getLog(storeKey);
+            Entry previousEntry = log.entries.get(key.getPath());
+            if (previousEntry != null && previousEntry.isSameAnalysis(key)) {
+                return;
+            }
+            log.entries.put(entry.path, entry);
+            log.pendingEntries.add(entry);
+        }
+        writeTask.schedule(0);
+    }
+
+    /**
+     * Wait until issues already stored are written on disk
+     */
+    public void flush() {
+        writeTask.schedule(0);
+        writeTask.waitFinished();
+    }
+
+    private Log getLog(String storeKey) {
+        return logByStoreKey.computeIfAbsent(storeKey, this::read);
+    }
+
+    private Path toStorePath(String storeKey) {
+        return storeDirectory.resolve(SonarLintIssueCache.sha256(storeKey) + ".log");
+    }
+
+    private Log read(String storeKey) {
+        Log log = new Log();
+        Path storePath = toStorePath(storeKey);
+        if (!Files.isRegularFile(storePath)) {
+            log.rewrite = true;
+            return log;
+        }
+        boolean supportedVersion;
+        try (BufferedReader reader = Files.newBufferedReader(storePath, StandardCharsets.UTF_8)) {
+            Header header = gson.fromJson(reader.readLine(), Header.class);
+            supportedVersion = header != null && header.version == STORE_VERSION;
+            String line;
+            while (supportedVersion && (line = reader.readLine()) != null) {
+                log.lineCount++;
+                readEntry(line).ifPresent(entry -> log.entries.put(entry.path, entry));
+            }
+        } catch (IOException | JsonParseException ex) {
+            LOG.log(Level.WARNING, "Unable to read issue store \"" + storePath + "\"", ex);
+            log.entries.clear();
+            log.rewrite = true;
+            return log;
+        }
+        // Forget deleted files
+        log.entries.keySet().removeIf(path -> !Files.exists(Paths.get(path)));
+        if (!supportedVersion) {
+            LOG.info(() -> "Issue store \"" + storePath + "\" replaced, unsupported version");
+        }
+        if (!supportedVersion || log.isTooLong()) {
+            log.rewrite = true;
+            writeTask.schedule(0);
+        }
+        return log;
+    }
+
+    private Optional<Entry> readEntry(String line) {
+        try {
+            Entry entry = gson.fromJson(line, Entry.class);
+            if (entry != null && entry.path != null && entry.issues != null) {
+                return Optional.of(entry);
+            }
+        } catch (JsonParseException ex) {
+            // Last line can be truncated if IDE was stopped while writing
+            LOG.log(Level.FINE, "Invalid line in issue store ignored", ex);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Append pending entries of each log or rewrite the whole log if it must be compacted
+     */
+    private void writePendingEntries() {
+        Map<String, List<Entry>> appendedEntriesByStoreKey = new HashMap<>();
+        Map<String, List<Entry>> allEntriesByStoreKey = new HashMap<>();
+        synchronized (this) {
+            for (Map.Entry<String, Log> logEntry : logByStoreKey.entrySet()) {
+                Log log = logEntry.getValue();
+                // Nothing to write or log without entries not created yet
+                if (log.pendingEntries.isEmpty() && (!log.rewrite || (log.entries.isEmpty() && log.lineCount == 0))) {
+                    continue;
+                }
+                log.lineCount += log.pendingEntries.size();
+                if (log.rewrite || log.isTooLong()) {
+                    allEntriesByStoreKey.put(logEntry.getKey(), new ArrayList<>(log.entries.values()));
+                    log.lineCount = log.entries.size();
+                    log.rewrite = false;
+                } else {
+                    appendedEntriesByStoreKey.put(logEntry.getKey(), new ArrayList<>(log.pendingEntries));
+                }
+                log.pendingEntries.clear();
+            }
+        }
+        allEntriesByStoreKey.forEach((String storeKey, List<Entry> entries) -> {
+            Path storePath = toStorePath(storeKey);
+            try {
+                writeAll(storePath, entries);
+            } catch (IOException ex) {
+                LOG.log(Level.WARNING, "Unable to write issue store \"" + storePath + "\"", ex);
+            }
+        });
+        appendedEntriesByStoreKey.forEach((String storeKey, List<Entry> entries) -> {
+            Path storePath = toStorePath(storeKey);
+            List<String> lines = new ArrayList<>(entries.size());
+            for (Entry entry : entries) {
+                lines.add(gson.toJson(entry));
+            }
+            try {
+                Files.write(storePath, lines, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            } catch (IOException ex) {
+                LOG.log(Level.WARNING, "Unable to write issue store \"" + storePath + "\"", ex);
+            }
+        });
+    }
+
+    private void writeAll(Path storePath, Iterable<Entry> entries) throws IOException {
+        Files.createDirectories(storeDirectory);
+        Path temporaryStorePath = storeDirectory.resolve(storePath.getFileName() + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temporaryStorePath, StandardCharsets.UTF_8)) {
+            writer.write(gson.toJson(new Header()));
+            writer.write('\n');
+            for (Entry entry : entries) {
+                writer.write(gson.toJson(entry));
+                writer.write('\n');
+            }
+        }
+        Files.move(temporaryStorePath, storePath, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static final class Header {
+        private int version = STORE_VERSION;
+    }
+
+    /**
+     * Entries of a project loaded in memory and state of its log on disk
+     */
+    private static final class Log {
+        private final Map<String, Entry> entries = new HashMap<>();
+        private final List<Entry> pendingEntries = new ArrayList<>();
+        private int lineCount;
+        // Log must be written again with only current entries
+        private boolean rewrite;
+
+        private boolean isTooLong() {
+            return lineCount > COMPACTION_FACTOR * entries.size();
+        }
+    }
+
+    private static final class Entry {
+        private String path;
+        private String contentHash;
+        private String configurationFingerprint;
+        private List<SonarLintStoredIssue> issues;
+
+        private boolean isSameAnalysis(SonarLintIssueCache.Key key) {
+            return key.getContentHash().equals(contentHash)
+                && key.getConfigurationFingerprint().equals(configurationFingerprint);
+        }
+
+        private List<Issue> toIssues(ClientInputFile inputFile) {
+            List<Issue> restoredIssues = new ArrayList<>(issues.size());
+            for (SonarLintStoredIssue storedIssue : issues) {
+                restoredIssues.add(storedIssue.withInputFile(inputFile));
+            }
+            return restoredIssues;
+        }
+    }
+}
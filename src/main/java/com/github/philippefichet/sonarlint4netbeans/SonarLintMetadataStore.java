@@ -0,0 +1,205 @@
+/*
+ * sonarlint4netbeans: SonarLint integration for Apache Netbeans
+ * Copyright (C) 2023 Philippe FICHET.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package com.github.philippefichet.sonarlint4netbeans;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import org.sonarsource.sonarlint.core.client.api.common.PluginDetails;
+import org.sonarsource.sonarlint.core.client.api.standalone.StandaloneRuleDetails;
+
+/**
+ * Keep analyzers and rule details of the last engine start to list them while next engine starts.
+ * Metadata is saved in JSON under {@link #defaultStoreDirectory()} with fingerprint of loaded plugins
+ * and is only used if plugins are the same.
+ * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
+ */
+public final class SonarLintMetadataStore {
+
+    private static final Logger LOG = Logger.getLogger(SonarLintMetadataStore.class.getName());
+    private static final int STORE_VERSION = 1;
+    private static final String STORE_FILE_NAME = "metadata.json";
+
+    private final Gson gson = new Gson();
+    private final Path storeDirectory;
+
+    public SonarLintMetadataStore(Path storeDirectory) {
+        this.storeDirectory = storeDirectory;
+    }
+
+    /**
+     * Default directory of store
+     * @return directory of store in user home
+     */
+    public static Path defaultStoreDirectory() {
+        return Paths.get(System.getProperty("user.home"), ".sonarlint4netbeans", "metadata");
+    }
+
+    /**
+     * Create fingerprint of plugins from path, size and content hash of each plugin
+     * @param pluginPaths path of each plugin by key
+     * @param runtime runtime configuration changing loaded plugins (ex: NodeJS)
+     * @return fingerprint of plugins
+     * @throws IOException if a plugin cannot be read
+     */
+    public static String fingerprint(Map<String, Path> pluginPaths, String runtime) throws IOException {
+        StringBuilder sb = new StringBuilder("runtime=").append(runtime).append('\n');
+        for (Map.Entry<String, Path> plugin : new TreeMap<>(pluginPaths).entrySet()) {
+            Path path = plugin.getValue();
+            sb.append(plugin.getKey()).append('=')
+                .append(path.toAbsolutePath()).append(';')
+                .append(Files.size(path)).append(';')
+                .append(sha256(path)).append('\n');
+        }
+        return SonarLintIssueCache.sha256(sb.toString());
+    }
+
+    private static String sha256(Path path) throws IOException {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            try (InputStream inputStream = new DigestInputStream(Files.newInputStream(path), messageDigest)) {
+                byte[] buffer = new byte[64 * 1024];
+                while (inputStream.read(buffer) != -1) {
+                    // read to update digest
+                }
+            }
+            return new BigInteger(1, messageDigest.digest()).toString(16);
+        } catch (NoSuchAlgorithmException ex) {
+            // SHA-256 is required on every Java platform
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Retrieve metadata saved with the same plugins
+     * @param pluginsFingerprint fingerprint of plugins
+     * @return metadata saved with same plugins or empty
+     */
+    public synchronized Optional<Metadata> load(String pluginsFingerprint) {
+        Path storePath = storeDirectory.resolve(STORE_FILE_NAME);
+        if (!Files.isRegularFile(storePath)) {
+            return Optional.empty();
+        }
+        try (Reader reader = Files.newBufferedReader(storePath, StandardCharsets.UTF_8)) {
+            Metadata metadata = gson.fromJson(reader, Metadata.class);
+            if (metadata != null
+                && metadata.version == STORE_VERSION
+                && pluginsFingerprint.equals(metadata.pluginsFingerprint)
+                && metadata.analyzers != null
+                && metadata.rules != null
+            ) {
+                return Optional.of(metadata);
+            }
+        } catch (IOException | JsonParseException ex) {
+            LOG.log(Level.WARNING, "Unable to read metadata store \"" + storePath + "\"", ex);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Save analyzers and rules of an engine
+     * @param pluginsFingerprint fingerprint of plugins loaded by engine
+     * @param pluginDetails plugins loaded by engine
+     * @param ruleDetails rules loaded by engine
+     */
+    public synchronized void save(String pluginsFingerprint, Collection<PluginDetails> pluginDetails, Collection<StandaloneRuleDetails> ruleDetails) {
+        Metadata metadata = new Metadata(
+            pluginsFingerprint,
+            pluginDetails.stream().map(SonarLintAnalyzerDetails::from).collect(Collectors.toList()),
+            ruleDetails.stream().map(SonarLintStoredRuleDetails::from).collect(Collectors.toList())
+        );
+        Path storePath = storeDirectory.resolve(STORE_FILE_NAME);
+        try {
+            Files.createDirectories(storeDirectory);
+            Path temporaryStorePath = storeDirectory.resolve(STORE_FILE_NAME + ".tmp");
+            try (Writer writer = Files.newBufferedWriter(temporaryStorePath, StandardCharsets.UTF_8)) {
+                gson.toJson(metadata, writer);
+            }
+            Files.move(temporaryStorePath, storePath, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException ex) {
+            LOG.log(Level.WARNING, "Unable to write metadata store \"" + storePath + "\"", ex);
+        }
+    }
+
+    /**
+     * Analyzers and rules of an engine start
+     */
+    public static final class Metadata {
+        private final int version;
+        private final String pluginsFingerprint;
+        private final List<SonarLintAnalyzerDetails> analyzers;
+        private final List<SonarLintStoredRuleDetails> rules;
+        private transient SonarLintRuleCatalog ruleCatalog;
+        private transient Map<String, StandaloneRuleDetails> ruleByKey;
+
+        private Metadata(String pluginsFingerprint, List<SonarLintAnalyzerDetails> analyzers, List<SonarLintStoredRuleDetails> rules) {
+            this.version = STORE_VERSION;
+            this.pluginsFingerprint = pluginsFingerprint;
+            this.analyzers = new ArrayList<>(analyzers);
+            this.rules = new ArrayList<>(rules);
+        }
+
+        public List<SonarLintAnalyzerDetails> getAnalyzers() {
+            return Collections.unmodifiableList(analyzers);
+        }
+
+        public List<StandaloneRuleDetails> getRules() {
+            return Collections.unmodifiableList(rules);
+        }
+
+        public synchronized SonarLintRuleCatalog getRuleCatalog() {
+            if (ruleCatalog == null) {
+                ruleCatalog = new SonarLintRuleCatalog(getRules());
+            }
+            return ruleCatalog;
+        }
+
+        public synchronized Optional<StandaloneRuleDetails> getRuleDetails(String ruleKey) {
+            if (ruleByKey == null) {
+                ruleByKey = new HashMap<>();
+                rules.forEach(rule -> ruleByKey.put(rule.getKey(), rule));
+            }
+            return Optional.ofNullable(ruleByKey.get(ruleKey));
+        }
+    }
+}
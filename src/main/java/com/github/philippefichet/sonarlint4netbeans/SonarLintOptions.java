@@ -83,6 +83,92 @@ public class SonarLintOptions {
     {
         return getPreferences().getBoolean("options.applyDifferentRulesOnTestFiles", true);
     }
+
+    /**
+     * Change quiet period before analyzing an edited file
+     * @param editorAnalysisDelay quiet period in milliseconds
+     */
+    public void setEditorAnalysisDelay(int editorAnalysisDelay) {
+        getPreferences().putInt("options.editorAnalysisDelay", editorAnalysisDelay);
+    }
+
+    /**
+     * Retrieve quiet period before analyzing an edited file, successive edits during this period are analyzed only once
+     * @return quiet period in milliseconds
+     */
+    public int getEditorAnalysisDelay()
+    {
+        return getPreferences().getInt("options.editorAnalysisDelay", 300);
+    }
+
+    /**
+     * Change options to analyze only files changed since the previous deep analysis
+     * @param analyzeIncrementally true to analyze only changed files and restore previous issues of others, false to analyze all files
+     */
+    public void useIncrementalAnalysis(boolean analyzeIncrementally) {
+        getPreferences().putBoolean("options.analyzeIncrementally", analyzeIncrementally);
+    }
+
+    /**
+     * Retrieve true if a deep analysis only analyze files changed since the previous deep analysis
+     * @return true to analyze only changed files and restore previous issues of others, false to analyze all files
+     */
+    public boolean analyzeIncrementally()
+    {
+        return getPreferences().getBoolean("options.analyzeIncrementally", true);
+    }
+
+    /**
+     * Change options to keep analyzing with the previous engine while a new engine starts
+     * @param hotSwapEngine true to analyze with the previous engine until the new one is ready, false to wait for the new engine
+     */
+    public void useHotSwapEngine(boolean hotSwapEngine) {
+        getPreferences().putBoolean("options.hotSwapEngine", hotSwapEngine);
+    }
+
+    /**
+     * Retrieve true if the previous engine keeps analyzing while a new engine starts
+     * @return true to analyze with the previous engine until the new one is ready, false to wait for the new engine
+     */
+    public boolean hotSwapEngine()
+    {
+        return getPreferences().getBoolean("options.hotSwapEngine", true);
+    }
+
+    /**
+     * Change options to load bundled analyzers only for languages of analyzed files, applied on next engine start
+     * @param loadPluginsOnDemand true to load an analyzer on first analysis of its language, false to load all analyzers on start
+     */
+    public void useLoadPluginsOnDemand(boolean loadPluginsOnDemand) {
+        getPreferences().putBoolean("options.loadPluginsOnDemand", loadPluginsOnDemand);
+    }
+
+    /**
+     * Retrieve true if bundled analyzers are loaded only for languages of analyzed files.
+     * Rules of analyzers not loaded yet are not listed.
+     * @return true to load an analyzer on first analysis of its language, false to load all analyzers on start
+     */
+    public boolean loadPluginsOnDemand()
+    {
+        return getPreferences().getBoolean("options.loadPluginsOnDemand", false);
+    }
+
+    /**
+     * Change options to analyze files of Action Items window in batches
+     * @param batchTaskScan true to analyze files scanned within a short window with one analysis by project, false to analyze each file separately
+     */
+    public void useBatchTaskScan(boolean batchTaskScan) {
+        getPreferences().putBoolean("options.batchTaskScan", batchTaskScan);
+    }
+
+    /**
+     * Retrieve true if files of Action Items window are analyzed in batches
+     * @return true to analyze files scanned within a short window with one analysis by project, false to analyze each file separately
+     */
+    public boolean batchTaskScan()
+    {
+        return getPreferences().getBoolean("options.batchTaskScan", true);
+    }
     
     private FileSystem getFileSystem()
     {
@@ -19,13 +19,11 @@
  */
 package com.github.philippefichet.sonarlint4netbeans;
 
-import com.github.philippefichet.sonarlint4netbeans.annotation.SonarLintAnnotationHandler;
-import java.io.IOException;
-import java.util.logging.Logger;
 import org.netbeans.modules.parsing.spi.Parser;
 import org.netbeans.modules.parsing.spi.ParserResultTask;
 import org.netbeans.modules.parsing.spi.Scheduler;
 import org.netbeans.modules.parsing.spi.SchedulerEvent;
+import org.openide.filesystems.FileObject;
 
 /**
  *
@@ -33,23 +31,25 @@ import org.netbeans.modules.parsing.spi.SchedulerEvent;
  */
 public class SonarLintParserResultTask extends ParserResultTask<Parser.Result> {
 
-    private static final Logger LOG = Logger.getLogger(SonarLintParserResultTask.class.getCanonicalName());
+    private static final SonarLintEditorAnalysisScheduler SCHEDULER = new SonarLintEditorAnalysisScheduler();
     private final SonarLintEngine standaloneSonarLintEngineImpl;
+    private volatile FileObject lastFileObject;
     public SonarLintParserResultTask(SonarLintEngine standaloneSonarLintEngineImpl) {
         this.standaloneSonarLintEngineImpl = standaloneSonarLintEngineImpl;
     }
 
     @Override
     public void run(Parser.Result result, SchedulerEvent event) {
-        try {
-            SonarLintAnnotationHandler.analyze(
-                standaloneSonarLintEngineImpl,
-                result.getSnapshot().getSource().getFileObject(),
-                result.getSnapshot().getText().toString()
-            );
-        } catch (IOException ex) {
-            LOG.severe("Error while analyze parsing result: " + result + " => " + ex.getMessage());
+        FileObject fileObject = result.getSnapshot().getSource().getFileObject();
+        if (fileObject == null || SonarLintUtils.isExcluded(fileObject)) {
+            return;
         }
+        lastFileObject = fileObject;
+        SCHEDULER.schedule(
+            standaloneSonarLintEngineImpl,
+            fileObject,
+            result.getSnapshot().getText().toString()
+        );
     }
 
     @Override
@@ -64,6 +64,9 @@ public class SonarLintParserResultTask extends ParserResultTask<Parser.Result> {
 
     @Override
     public void cancel() {
-        // Not cancelable
+        FileObject fileObject = lastFileObject;
+        if (fileObject != null) {
+            SCHEDULER.cancel(fileObject);
+        }
     }
 }
@@ -0,0 +1,222 @@
+/*
+ * sonarlint4netbeans: SonarLint integration for Apache Netbeans
+ * Copyright (C) 2023 Philippe FICHET.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package com.github.philippefichet.sonarlint4netbeans;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+import org.sonarsource.sonarlint.core.client.api.standalone.StandaloneRuleDetails;
+import org.sonarsource.sonarlint.core.commons.IssueSeverity;
+import org.sonarsource.sonarlint.core.commons.RuleType;
+
+/**
+ * Index of all rule details by language, type, severity, tag, key and words of name and description.
+ * Built once for each engine start and queried by rule panels.
+ * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
+ */
+public final class SonarLintRuleCatalog {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern HTML_TAG = Pattern.compile("<[^>]*>");
+
+    // Sorted by key, index in this list is the bit used by all indexes
+    private final List<StandaloneRuleDetails> rules;
+    private final Map<String, BitSet> byLanguage = new HashMap<>();
+    private final Map<RuleType, BitSet> byType = new EnumMap<>(RuleType.class);
+    private final Map<IssueSeverity, BitSet> bySeverity = new EnumMap<>(IssueSeverity.class);
+    private final Map<String, BitSet> byTag = new HashMap<>();
+    private final NavigableMap<String, BitSet> byKey = new TreeMap<>();
+    private final NavigableMap<String, BitSet> byKeyOrNameToken = new TreeMap<>();
+    private final NavigableMap<String, BitSet> byDescriptionToken = new TreeMap<>();
+    private final List<String> languageKeys;
+
+    public SonarLintRuleCatalog(Collection<StandaloneRuleDetails> ruleDetails) {
+        List<StandaloneRuleDetails> sortedRules = new ArrayList<>(ruleDetails);
+        sortedRules.sort((r1, r2) -> r1.getKey().compareTo(r2.getKey()));
+        rules = Collections.unmodifiableList(sortedRules);
+        for (int index = 0; index < rules.size(); index++) {
+            StandaloneRuleDetails rule = rules.get(index);
+            add(byLanguage, rule.getLanguage().getLanguageKey(), index);
+            add(byType, rule.getType(), index);
+            add(bySeverity, rule.getDefaultSeverity(), index);
+            for (String tag : rule.getTags()) {
+                add(byTag, tag, index);
+            }
+            String key = rule.getKey().toLowerCase(Locale.ROOT);
+            add(byKey, key, index);
+            addTokens(byKeyOrNameToken, key, index);
+            addTokens(byKeyOrNameToken, rule.getName(), index);
+            String htmlDescription = rule.getHtmlDescription();
+            if (htmlDescription != null) {
+                addTokens(byDescriptionToken, HTML_TAG.matcher(htmlDescription).replaceAll(" "), index);
+            }
+        }
+        languageKeys = Collections.unmodifiableList(new ArrayList<>(new TreeSet<>(byLanguage.keySet())));
+    }
+
+    private static <K> void add(Map<K, BitSet> index, K key, int ruleIndex) {
+        if (key != null) {
+            index.computeIfAbsent(key, (K k) -> new BitSet()).set(ruleIndex);
+        }
+    }
+
+    private static void addTokens(Map<String, BitSet> index, String text, int ruleIndex) {
+        for (String token : tokenize(text)) {
+            add(index, token, ruleIndex);
+        }
+    }
+
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * All rules sorted by key
+     * @return all rules sorted by key
+     */
+    public List<StandaloneRuleDetails> getAllRules() {
+        return rules;
+    }
+
+    /**
+     * All language keys of rules
+     * @return sorted language keys
+     */
+    public List<String> getLanguageKeys() {
+        return languageKeys;
+    }
+
+    /**
+     * Create a query on all rules, criteria are combined with "and"
+     * @return new query
+     */
+    public Query query() {
+        return new Query();
+    }
+
+    public final class Query {
+        private final BitSet matches = new BitSet();
+
+        private Query() {
+            matches.set(0, rules.size());
+        }
+
+        /**
+         * Keep only rules of a language
+         * @param languageKey language key (ex: java)
+         * @return this query
+         */
+        public Query language(String languageKey) {
+            return and(byLanguage.get(languageKey));
+        }
+
+        public Query type(RuleType type) {
+            return and(byType.get(type));
+        }
+
+        public Query severity(IssueSeverity severity) {
+            return and(bySeverity.get(severity));
+        }
+
+        public Query tag(String tag) {
+            return and(byTag.get(tag));
+        }
+
+        /**
+         * Keep only rules with key starting with a prefix, case insensitive
+         * @param prefix prefix of key (ex: java:S1)
+         * @return this query
+         */
+        public Query keyPrefix(String prefix) {
+            return and(union(byKey, prefix.toLowerCase(Locale.ROOT)));
+        }
+
+        /**
+         * Keep only rules with each word of text starting a word of its key or its name, case insensitive
+         * @param text words to search, all rules are kept if empty
+         * @return this query
+         */
+        public Query text(String text) {
+            for (String token : tokenize(text)) {
+                and(union(byKeyOrNameToken, token));
+            }
+            return this;
+        }
+
+        /**
+         * Keep only rules with each word of text starting a word of its key, its name or its description, case insensitive
+         * @param text words to search, all rules are kept if empty
+         * @return this query
+         */
+        public Query fullText(String text) {
+            for (String token : tokenize(text)) {
+                BitSet tokenMatches = union(byKeyOrNameToken, token);
+                tokenMatches.or(union(byDescriptionToken, token));
+                and(tokenMatches);
+            }
+            return this;
+        }
+
+        /**
+         * Rules matching all criteria
+         * @return rules sorted by key
+         */
+        public List<StandaloneRuleDetails> list() {
+            List<StandaloneRuleDetails> result = new ArrayList<>(matches.cardinality());
+            for (int index = matches.nextSetBit(0); index >= 0; index = matches.nextSetBit(index + 1)) {
+                result.add(rules.get(index));
+            }
+            return result;
+        }
+
+        private Query and(BitSet criteria) {
+            if (criteria == null) {
+                matches.clear();
+            } else {
+                matches.and(criteria);
+            }
+            return this;
+        }
+
+        private BitSet union(NavigableMap<String, BitSet> index, String prefix) {
+            BitSet union = new BitSet();
+            for (BitSet bitSet : index.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+                union.or(bitSet);
+            }
+            return union;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * sonarlint4netbeans: SonarLint integration for Apache Netbeans
+ * Copyright (C) 2023 Philippe FICHET.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package com.github.philippefichet.sonarlint4netbeans;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import org.apache.commons.text.StringEscapeUtils;
+import org.sonarsource.sonarlint.core.client.api.standalone.StandaloneRuleDetails;
+import org.sonarsource.sonarlint.core.client.api.standalone.StandaloneRuleParam;
+import org.sonarsource.sonarlint.core.commons.IssueSeverity;
+import org.sonarsource.sonarlint.core.commons.RuleType;
+
+/**
+ * Metadata of a rule used for each issue (name, severity, type, resolved parameters and tooltip),
+ * built once by the engine for a project and replaced when engine restarts or configuration changes.
+ * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
+ */
+public final class SonarLintRuleMetadata {
+
+    // Tooltips shared by metadata of rules with same parameter values, removed when metadata is no longer used
+    private static final Map<List<Object>, String> SHORT_DESCRIPTIONS = Collections.synchronizedMap(new WeakHashMap<>());
+    private final String key;
+    private final String name;
+    private final IssueSeverity severity;
+    private final RuleType type;
+    private final Map<StandaloneRuleParam, String> parameters;
+    private final Map<String, String> parameterValues;
+    private final List<Object> shortDescriptionKey;
+    private volatile String shortDescription;
+
+    /**
+     * Create metadata of a rule
+     * @param ruleDetails details of rule
+     * @param parameters all parameters of rule with customized or defaut value
+     */
+    public SonarLintRuleMetadata(StandaloneRuleDetails ruleDetails, Map<StandaloneRuleParam, String> parameters) {
+        this.key = ruleDetails.getKey();
+        this.name = ruleDetails.getName();
+        this.severity = ruleDetails.getDefaultSeverity();
+        this.type = ruleDetails.getType();
+        this.parameters = Collections.unmodifiableMap(parameters);
+        this.parameterValues = toParameterValues(parameters);
+        this.shortDescriptionKey = Arrays.asList(key, name, parameterValues);
+    }
+
+    /**
+     * Retrieve value of parameters by parameter name
+     * @param parameters all parameters of rule with customized or defaut value
+     * @return value of parameters sorted by parameter name
+     */
+    public static Map<String, String> toParameterValues(Map<StandaloneRuleParam, String> parameters) {
+        Map<String, String> values = new TreeMap<>();
+        parameters.forEach((StandaloneRuleParam param, String value) -> values.put(param.name(), value));
+        return Collections.unmodifiableMap(values);
+    }
+
+    /**
+     * Create HTML description of a rule displayed in tooltip of annotations
+     * @param ruleKey rule key (ex: java:S108)
+     * @param ruleName name of rule
+     * @param ruleParams all parameters of rule with customized or defaut value
+     * @return HTML description of rule
+     */
+    public static String toShortDescription(String ruleKey, String ruleName, Map<StandaloneRuleParam, String> ruleParams) {
+        StringBuilder sb = new StringBuilder("<html>");
+        sb.append("<strong>");
+        sb.append(ruleKey);
+        sb.append(": ")
+            .append(StringEscapeUtils.escapeHtml4(ruleName))
+            .append("</strong>")
+            .append("<br/>Click to show details");
+        if (!ruleParams.isEmpty()) {
+            sb.append("<br/><br/><strong>Parameters:</strong><br/>");
+            for (Map.Entry<StandaloneRuleParam, String> ruleParam : ruleParams.entrySet()) {
+                StandaloneRuleParam standaloneRuleParam = ruleParam.getKey();
+                sb.append("<div>")
+                    .append(standaloneRuleParam.name())
+                    .append(": ")
+                    .append(standaloneRuleParam.description())
+                    .append(". (value: ")
+                    .append(ruleParam.getValue())
+                    .append(", default: ")
+                    .append(standaloneRuleParam.defaultValue())
+                    .append(")</div>");
+            }
+        }
+        return sb.append("</html>")
+            .toString();
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Default severity of rule, issues can have another severity
+     * @return default severity of rule
+     */
+    public IssueSeverity getSeverity() {
+        return severity;
+    }
+
+    public RuleType getType() {
+        return type;
+    }
+
+    public Map<StandaloneRuleParam, String> getParameters() {
+        return parameters;
+    }
+
+    /**
+     * Value of parameters by parameter name
+     * @return value of parameters sorted by parameter name
+     */
+    public Map<String, String> getParameterValues() {
+        return parameterValues;
+    }
+
+    /**
+     * HTML description of rule displayed in tooltip of annotations, built on first call
+     * @return HTML description of rule
+     */
+    public String getShortDescription() {
+        String description = shortDescription;
+        if (description == null) {
+            description = SHORT_DESCRIPTIONS.computeIfAbsent(shortDescriptionKey, k -> toShortDescription(key, name, parameters));
+            shortDescription = description;
+        }
+        return description;
+    }
+}
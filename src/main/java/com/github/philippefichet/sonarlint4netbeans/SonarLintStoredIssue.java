@@ -0,0 +1,193 @@
+/*
+ * sonarlint4netbeans: SonarLint integration for Apache Netbeans
+ * Copyright (C) 2023 Philippe FICHET.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package com.github.philippefichet.sonarlint4netbeans;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.sonarsource.sonarlint.core.analysis.api.ClientInputFile;
+import org.sonarsource.sonarlint.core.analysis.api.Flow;
+import org.sonarsource.sonarlint.core.analysis.api.QuickFix;
+import org.sonarsource.sonarlint.core.client.api.common.analysis.Issue;
+import org.sonarsource.sonarlint.core.commons.CleanCodeAttribute;
+import org.sonarsource.sonarlint.core.commons.ImpactSeverity;
+import org.sonarsource.sonarlint.core.commons.IssueSeverity;
+import org.sonarsource.sonarlint.core.commons.RuleType;
+import org.sonarsource.sonarlint.core.commons.SoftwareQuality;
+import org.sonarsource.sonarlint.core.commons.TextRange;
+import org.sonarsource.sonarlint.core.commons.VulnerabilityProbability;
+
+/**
+ * Issue restored from a previous analysis, only data displayed by the plugin is kept
+ * (no flows, no quick fixes).
+ * Serializable with Gson, input file is not serialized and must be given back with {@link #withInputFile(ClientInputFile)}
+ * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
+ */
+public final class SonarLintStoredIssue implements Issue {
+
+    private final String ruleKey;
+    private final IssueSeverity severity;
+    private final RuleType type;
+    private final String message;
+    private final Integer startLine;
+    private final Integer startLineOffset;
+    private final Integer endLine;
+    private final Integer endLineOffset;
+    private final transient ClientInputFile inputFile;
+
+    private SonarLintStoredIssue(
+        String ruleKey,
+        IssueSeverity severity,
+        RuleType type,
+        String message,
+        Integer startLine,
+        Integer startLineOffset,
+        Integer endLine,
+        Integer endLineOffset,
+        ClientInputFile inputFile
+    ) {
+        this.ruleKey = ruleKey;
+        this.severity = severity;
+        this.type = type;
+        this.message = message;
+        this.startLine = startLine;
+        this.startLineOffset = startLineOffset;
+        this.endLine = endLine;
+        this.endLineOffset = endLineOffset;
+        this.inputFile = inputFile;
+    }
+
+    /**
+     * Copy data of an issue to store it
+     * @param issue issue found by an analysis
+     * @return issue to store, without input file
+     */
+    public static SonarLintStoredIssue from(Issue issue) {
+        return new SonarLintStoredIssue(
+            issue.getRuleKey(),
+            issue.getSeverity(),
+            issue.getType(),
+            issue.getMessage(),
+            issue.getStartLine(),
+            issue.getStartLineOffset(),
+            issue.getEndLine(),
+            issue.getEndLineOffset(),
+            null
+        );
+    }
+
+    /**
+     * Create a copy of this issue attached to a file
+     * @param inputFile file of issue
+     * @return copy of this issue attached to the file
+     */
+    public SonarLintStoredIssue withInputFile(ClientInputFile inputFile) {
+        return new SonarLintStoredIssue(ruleKey, severity, type, message, startLine, startLineOffset, endLine, endLineOffset, inputFile);
+    }
+
+    @Override
+    public IssueSeverity getSeverity() {
+        return severity;
+    }
+
+    @Override
+    public RuleType getType() {
+        return type;
+    }
+
+    @Override
+    public Optional<CleanCodeAttribute> getCleanCodeAttribute() {
+        return Optional.empty();
+    }
+
+    @Override
+    public Map<SoftwareQuality, ImpactSeverity> getImpacts() {
+        return Collections.emptyMap();
+    }
+
+    @Override
+    public String getRuleKey() {
+        return ruleKey;
+    }
+
+    @Override
+    public List<Flow> flows() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public List<QuickFix> quickFixes() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public Optional<String> getRuleDescriptionContextKey() {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<VulnerabilityProbability> getVulnerabilityProbability() {
+        return Optional.empty();
+    }
+
+    @Override
+    public ClientInputFile getInputFile() {
+        return inputFile;
+    }
+
+    @Override
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public TextRange getTextRange() {
+        if (startLine == null || startLineOffset == null || endLine == null || endLineOffset == null) {
+            return null;
+        }
+        return new TextRange(startLine, startLineOffset, endLine, endLineOffset);
+    }
+
+    @Override
+    public Integer getStartLine() {
+        return startLine;
+    }
+
+    @Override
+    public Integer getStartLineOffset() {
+        return startLineOffset;
+    }
+
+    @Override
+    public Integer getEndLine() {
+        return endLine;
+    }
+
+    @Override
+    public Integer getEndLineOffset() {
+        return endLineOffset;
+    }
+
+    @Override
+    public String toString() {
+        return "SonarLintStoredIssue{" + "ruleKey=" + ruleKey + ", severity=" + severity + ", type=" + type + ", startLine=" + startLine + ", startLineOffset=" + startLineOffset + ", endLine=" + endLine + ", endLineOffset=" + endLineOffset + ", inputFile=" + inputFile + '}';
+    }
+}
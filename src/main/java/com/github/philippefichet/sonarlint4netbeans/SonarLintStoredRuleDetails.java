@@ -0,0 +1,155 @@
+/*
+ * sonarlint4netbeans: SonarLint integration for Apache Netbeans
+ * Copyright (C) 2023 Philippe FICHET.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package com.github.philippefichet.sonarlint4netbeans;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import org.sonarsource.sonarlint.core.client.api.standalone.StandaloneRuleDetails;
+import org.sonarsource.sonarlint.core.client.api.standalone.StandaloneRuleParam;
+import org.sonarsource.sonarlint.core.commons.CleanCodeAttribute;
+import org.sonarsource.sonarlint.core.commons.ImpactSeverity;
+import org.sonarsource.sonarlint.core.commons.IssueSeverity;
+import org.sonarsource.sonarlint.core.commons.Language;
+import org.sonarsource.sonarlint.core.commons.RuleType;
+import org.sonarsource.sonarlint.core.commons.SoftwareQuality;
+
+/**
+ * Rule details restored from a previous engine start, used to list rules while engine starts.
+ * Parameters are not kept, {@link #paramDetails()} is always empty.
+ * Serializable with Gson
+ * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
+ */
+public final class SonarLintStoredRuleDetails implements StandaloneRuleDetails {
+
+    private final String key;
+    private final String name;
+    private final String htmlDescription;
+    private final Language language;
+    private final IssueSeverity defaultSeverity;
+    private final RuleType type;
+    private final CleanCodeAttribute cleanCodeAttribute;
+    private final Map<SoftwareQuality, ImpactSeverity> defaultImpacts;
+    private final boolean activeByDefault;
+    private final String[] tags;
+
+    private SonarLintStoredRuleDetails(
+        String key,
+        String name,
+        String htmlDescription,
+        Language language,
+        IssueSeverity defaultSeverity,
+        RuleType type,
+        CleanCodeAttribute cleanCodeAttribute,
+        Map<SoftwareQuality, ImpactSeverity> defaultImpacts,
+        boolean activeByDefault,
+        String[] tags
+    ) {
+        this.key = key;
+        this.name = name;
+        this.htmlDescription = htmlDescription;
+        this.language = language;
+        this.defaultSeverity = defaultSeverity;
+        this.type = type;
+        this.cleanCodeAttribute = cleanCodeAttribute;
+        this.defaultImpacts = defaultImpacts;
+        this.activeByDefault = activeByDefault;
+        this.tags = tags;
+    }
+
+    /**
+     * Copy data of a rule to store it
+     * @param ruleDetails rule loaded by engine
+     * @return rule to store, without parameters
+     */
+    public static SonarLintStoredRuleDetails from(StandaloneRuleDetails ruleDetails) {
+        Map<SoftwareQuality, ImpactSeverity> defaultImpacts = new EnumMap<>(SoftwareQuality.class);
+        defaultImpacts.putAll(ruleDetails.getDefaultImpacts());
+        return new SonarLintStoredRuleDetails(
+            ruleDetails.getKey(),
+            ruleDetails.getName(),
+            ruleDetails.getHtmlDescription(),
+            ruleDetails.getLanguage(),
+            ruleDetails.getDefaultSeverity(),
+            ruleDetails.getType(),
+            ruleDetails.getCleanCodeAttribute().orElse(null),
+            defaultImpacts,
+            ruleDetails.isActiveByDefault(),
+            ruleDetails.getTags()
+        );
+    }
+
+    @Override
+    public String getKey() {
+        return key;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getHtmlDescription() {
+        return htmlDescription;
+    }
+
+    @Override
+    public Language getLanguage() {
+        return language;
+    }
+
+    @Override
+    public IssueSeverity getDefaultSeverity() {
+        return defaultSeverity;
+    }
+
+    @Override
+    public RuleType getType() {
+        return type;
+    }
+
+    @Override
+    public Optional<CleanCodeAttribute> getCleanCodeAttribute() {
+        return Optional.ofNullable(cleanCodeAttribute);
+    }
+
+    @Override
+    public Map<SoftwareQuality, ImpactSeverity> getDefaultImpacts() {
+        return defaultImpacts == null ? Collections.emptyMap() : Collections.unmodifiableMap(defaultImpacts);
+    }
+
+    @Override
+    public boolean isActiveByDefault() {
+        return activeByDefault;
+    }
+
+    @Override
+    public String[] getTags() {
+        return tags == null ? new String[0] : tags.clone();
+    }
+
+    @Override
+    public Collection<StandaloneRuleParam> paramDetails() {
+        return Collections.emptyList();
+    }
+}
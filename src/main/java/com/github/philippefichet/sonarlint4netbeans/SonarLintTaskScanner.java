@@ -22,10 +22,16 @@ package com.github.philippefichet.sonarlint4netbeans;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -34,8 +40,8 @@ import org.netbeans.spi.tasklist.Task;
 import org.openide.filesystems.FileObject;
 import org.openide.util.Lookup;
 import org.openide.util.NbBundle;
+import org.openide.util.RequestProcessor;
 import org.sonarsource.sonarlint.core.client.api.common.analysis.Issue;
-import org.sonarsource.sonarlint.core.client.api.standalone.StandaloneRuleDetails;
 
 /**
  *
@@ -44,10 +50,32 @@ import org.sonarsource.sonarlint.core.client.api.standalone.StandaloneRuleDetail
 public class SonarLintTaskScanner extends FileTaskScanner implements PropertyChangeListener {
 
     private static final Logger LOG = Logger.getLogger(SonarLintTaskScanner.class.getCanonicalName());
+    private static final RequestProcessor REVALIDATION_RP = new RequestProcessor("SonarLint task revalidation", 1);
+    static final int BATCH_SIZE = 200;
+    private static final int BATCH_WINDOW = 500;
+    // Files analyzed after a scan, their next scan (refresh of tasks) only retrieves issues of this analysis
+    private final Set<FileObject> revalidatedFiles = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+    // Files waiting to be analyzed with the next batch
+    private final Set<FileObject> pendingFiles = new LinkedHashSet<>();
+    private final RequestProcessor.Task batchTask = REVALIDATION_RP.create(this::analyzeBatch);
+    // Analysis of a batch of files, issues are retrieved from cache on next scan of files
+    private final Consumer<List<FileObject>> batchAnalyzer;
+    private final int batchWindow;
+    private volatile Callback callback;
 
     public SonarLintTaskScanner(String displayName, String description) {
-        super(displayName, description, "Miscellaneous/SonarLint");
+        this(
+            displayName,
+            description,
+            batch -> SonarLintUtils.analyze(batch, null, SonarLintAnalysisExecutor.Priority.TASK_LIST),
+            BATCH_WINDOW
+        );
+    }
 
+    SonarLintTaskScanner(String displayName, String description, Consumer<List<FileObject>> batchAnalyzer, int batchWindow) {
+        super(displayName, description, "Miscellaneous/SonarLint");
+        this.batchAnalyzer = batchAnalyzer;
+        this.batchWindow = batchWindow;
     }
 
     public static SonarLintTaskScanner create() {
@@ -61,33 +89,109 @@ public class SonarLintTaskScanner extends FileTaskScanner implements PropertyCha
     @Override
     public List<? extends Task> scan(FileObject fileObject) {
         SonarLintEngine sonarLintEngine = Lookup.getDefault().lookup(SonarLintEngine.class);
-        if (sonarLintEngine == null) {
+        if (sonarLintEngine == null || SonarLintUtils.isExcluded(fileObject)) {
             return Collections.emptyList();
         }
-        sonarLintEngine.waitingInitialization();
+        // Analysis waits for an engine, the previous one is used while the engine restarts
         try {
-            List<Issue> analyze = SonarLintUtils.analyze(fileObject, null);
-            return analyze.stream()
-                .map(issue -> {
-                    Integer startLine = issue.getStartLine();
-                    Optional<StandaloneRuleDetails> ruleDetails = sonarLintEngine.getRuleDetails(issue.getRuleKey());
-                    return Task.create(
-                        fileObject,
-                        "nb-sonarlint-" + issue.getSeverity().name().toLowerCase(),
-                        issue.getRuleKey() + " = " + ruleDetails.map(StandaloneRuleDetails::getName).orElse("unknown"),
-                        startLine == null ? 1 : startLine
-                    );
-                })
-                .collect(Collectors.toList());
+            List<Issue> analyze;
+            // Refresh requested after analysis of this file, next scans analyze it again
+            boolean revalidated = revalidatedFiles.remove(fileObject);
+            Optional<List<Issue>> storedIssues = revalidated
+                ? Optional.empty()
+                : SonarLintUtils.findStoredIssues(fileObject, null);
+            if (!revalidated && isBatchTaskScan()) {
+                // Show issues of previous analysis and refresh tasks after analysis of the batch containing this file
+                analyze = storedIssues.orElse(Collections.emptyList());
+                enqueue(fileObject);
+            } else if (storedIssues.isPresent()) {
+                // Show issues of previous analysis and refresh tasks after a new analysis
+                analyze = storedIssues.get();
+                revalidatedFiles.add(fileObject);
+                REVALIDATION_RP.post(() -> revalidate(fileObject), 0, Thread.MIN_PRIORITY);
+            } else {
+                analyze = SonarLintUtils.analyze(fileObject, null, null, SonarLintAnalysisExecutor.Priority.TASK_LIST);
+            }
+            return toTasks(sonarLintEngine, fileObject, analyze);
         } catch (IOException ex) {
             LOG.log(Level.SEVERE, "Error during analyze {0}: {1}", new Object[]{fileObject.getName(), ex.getMessage()});
             return Collections.emptyList();
         }
     }
 
+    private static List<Task> toTasks(SonarLintEngine sonarLintEngine, FileObject fileObject, List<Issue> issues) {
+        return issues.stream()
+            .map(issue -> {
+                Integer startLine = issue.getStartLine();
+                Optional<SonarLintRuleMetadata> ruleMetadata = sonarLintEngine.getRuleMetadata(issue.getRuleKey(), SonarLintEngine.GLOBAL_SETTINGS_PROJECT);
+                return Task.create(
+                    fileObject,
+                    "nb-sonarlint-" + issue.getSeverity().name().toLowerCase(),
+                    issue.getRuleKey() + " = " + ruleMetadata.map(SonarLintRuleMetadata::getName).orElse("unknown"),
+                    startLine == null ? 1 : startLine
+                );
+            })
+            .collect(Collectors.toList());
+    }
+
+    private static boolean isBatchTaskScan() {
+        SonarLintOptions sonarLintOptions = Lookup.getDefault().lookup(SonarLintOptions.class);
+        return sonarLintOptions == null || sonarLintOptions.batchTaskScan();
+    }
+
+    void enqueue(FileObject fileObject) {
+        synchronized (pendingFiles) {
+            if (pendingFiles.add(fileObject)) {
+                // Scans of a project refresh arrive one after the other, wait for following files
+                batchTask.schedule(pendingFiles.size() >= BATCH_SIZE ? 0 : batchWindow);
+            }
+        }
+    }
+
+    private void analyzeBatch() {
+        while (true) {
+            List<FileObject> batch = new ArrayList<>();
+            synchronized (pendingFiles) {
+                Iterator<FileObject> iterator = pendingFiles.iterator();
+                while (iterator.hasNext() && batch.size() < BATCH_SIZE) {
+                    batch.add(iterator.next());
+                    iterator.remove();
+                }
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                batchAnalyzer.accept(batch);
+            } catch (RuntimeException ex) {
+                LOG.log(Level.WARNING, "Analysis of " + batch.size() + " files for tasks failed, files are analyzed alone", ex);
+            } finally {
+                // Next scan of these files uses issues in cache, files in failure are analyzed alone
+                revalidatedFiles.addAll(batch);
+                batch.forEach(this::refresh);
+            }
+        }
+    }
+
+    void refresh(FileObject fileObject) {
+        Callback currentCallback = callback;
+        if (currentCallback != null) {
+            currentCallback.refresh(fileObject);
+        }
+    }
+
+    private void revalidate(FileObject fileObject) {
+        try {
+            SonarLintUtils.analyze(fileObject, null, null, SonarLintAnalysisExecutor.Priority.TASK_LIST);
+            refresh(fileObject);
+        } catch (IOException ex) {
+            LOG.log(Level.SEVERE, "Error during analyze {0}: {1}", new Object[]{fileObject.getName(), ex.getMessage()});
+        }
+    }
+
     @Override
     public void attach(Callback callback) {
-        // Do nothing
+        this.callback = callback;
     }
 
     @Override
@@ -27,33 +27,45 @@ import java.io.InputStreamReader;
 import java.net.URI;
 import java.net.URL;
 import java.nio.charset.Charset;
-import java.nio.file.FileVisitResult;
-import java.nio.file.FileVisitor;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
+import java.nio.file.LinkOption;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
 import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
 import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
 import javax.swing.ImageIcon;
 import javax.swing.UIManager;
 import org.apache.commons.text.StringEscapeUtils;
 import org.netbeans.api.project.Project;
 import org.netbeans.api.queries.FileEncodingQuery;
+import org.netbeans.api.queries.SharabilityQuery;
 import org.openide.filesystems.FileObject;
 import org.openide.filesystems.FileUtil;
 import org.openide.loaders.DataObject;
+import org.openide.loaders.DataObjectNotFoundException;
 import org.openide.nodes.Node;
 import org.openide.util.Exceptions;
 import org.openide.util.Lookup;
@@ -69,6 +81,7 @@ import org.sonarsource.sonarlint.core.client.api.standalone.StandaloneAnalysisCo
 import org.sonarsource.sonarlint.core.client.api.standalone.StandaloneRuleDetails;
 import org.sonarsource.sonarlint.core.client.api.standalone.StandaloneRuleParam;
 import org.sonarsource.sonarlint.core.commons.IssueSeverity;
+import org.sonarsource.sonarlint.core.commons.Language;
 import org.sonarsource.sonarlint.core.commons.RuleKey;
 import org.sonarsource.sonarlint.core.commons.RuleType;
 import org.sonarsource.sonarlint.core.commons.Version;
@@ -83,37 +96,23 @@ public final class SonarLintUtils {
     private static final Logger LOG = Logger.getLogger(SonarLintUtils.class.getCanonicalName());
     private static final String HTML_END_END_TD_BEGIN_TD = "\"/></td><td>";
     private static final String HTML_END_TD = "</td>";
+    // Walk of directories blocks on disk, common pool used by other modules is not used
+    private static final ForkJoinPool FILES_COLLECTOR_POOL = new ForkJoinPool(
+        Math.min(4, Runtime.getRuntime().availableProcessors()),
+        pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("SonarLint files collector " + thread.getPoolIndex());
+            return thread;
+        },
+        null,
+        false
+    );
+    private static final SonarLintIssueCache ISSUE_CACHE = new SonarLintIssueCache(SonarLintIssueCache.DEFAULT_MAXIMUM_SIZE);
+    private static final SonarLintIssueStore ISSUE_STORE = new SonarLintIssueStore(SonarLintIssueStore.defaultStoreDirectory());
 
     private SonarLintUtils() {
     }
 
-    public static class FilterBy {
-
-        private FilterBy() {
-        }
-
-       /**
-         * Create a predicat to filter rule detail by language key
-         * @param languageKey language key to filter
-         * @return Predicat to filter rule detail by language key
-         */
-        public static Predicate<RuleDetails> languageKey(String languageKey) {
-            return ruleDetail -> ruleDetail.getLanguage().getLanguageKey().equals(languageKey);
-        }
-
-        /**
-         * Create a predicat to filter rule detail by key or name
-         * @param keyOrName key or name to filter
-         * @return Predicat to filter rule detail by key or name
-         */
-        public static Predicate<RuleDetails> keyAndName(String keyOrName) {
-            String ruleFilterLowerCase = keyOrName.toLowerCase();
-            return ruleDetail -> keyOrName.isEmpty()
-                || ruleDetail.getKey().toLowerCase().contains(ruleFilterLowerCase)
-                || ruleDetail.getName().toLowerCase().contains(ruleFilterLowerCase);
-        }
-    }
-
     public static URL toReadableURL(String url) throws IOException
     {
         URL pluginUrl = new URL(url);
@@ -243,55 +242,310 @@ public final class SonarLintUtils {
     }
 
     public static List<Issue> analyze(FileObject fileObject, String contentToAnalyze) throws IOException {
-        SonarLintEngine sonarLintEngine = Lookup.getDefault().lookup(SonarLintEngine.class);
-        if (sonarLintEngine == null) {
-            return Collections.emptyList();
-        }
-        SonarLintDataManager dataManager = Lookup.getDefault().lookup(SonarLintDataManager.class);
-        Project projectForRules = SonarLintDataManagerUtils.getProjectForAnalyse(dataManager, fileObject);
-        SonarLintOptions sonarlintOptions = Lookup.getDefault().lookup(SonarLintOptions.class);
-        boolean useTestRules = sonarlintOptions == null || sonarlintOptions.applyDifferentRulesOnTestFiles();
+        return analyze(fileObject, contentToAnalyze, null);
+    }
 
-        String sonarLintHome = System.getProperty("user.home") + File.separator + ".sonarlint4netbeans";
-        List<Issue> issues = new ArrayList<>();
-        List<RuleKey> excludedRules = new ArrayList<>(sonarLintEngine.getExcludedRules(projectForRules));
-        List<RuleKey> includedRules = new ArrayList<>(sonarLintEngine.getIncludedRules(projectForRules));
-        File toFile = FileUtil.toFile(fileObject);
-        if (toFile == null) {
+    /**
+     * Analyze a file with its saved content or a content to analyze
+     * @param fileObject file to analyze
+     * @param contentToAnalyze content to analyze, if null then saved content of file is analyzed
+     * @param monitor monitor checking if the analysis is cancelled, can be null
+     * @return issues found
+     * @throws IOException if saved content of file cannot be read
+     */
+    public static List<Issue> analyze(FileObject fileObject, String contentToAnalyze, ClientProgressMonitor monitor) throws IOException {
+        return analyze(fileObject, contentToAnalyze, monitor, SonarLintAnalysisExecutor.Priority.EDITOR);
+    }
+
+    /**
+     * Analyze a file with its saved content or a content to analyze
+     * @param fileObject file to analyze
+     * @param contentToAnalyze content to analyze, if null then saved content of file is analyzed
+     * @param monitor monitor checking if the analysis is cancelled, can be null
+     * @param priority priority of analysis against other analyses
+     * @return issues found
+     * @throws IOException if saved content of file cannot be read
+     */
+    public static List<Issue> analyze(
+        FileObject fileObject,
+        String contentToAnalyze,
+        ClientProgressMonitor monitor,
+        SonarLintAnalysisExecutor.Priority priority
+    ) throws IOException {
+        EditorAnalysis editorAnalysis = EditorAnalysis.create(fileObject, contentToAnalyze);
+        if (editorAnalysis == null) {
             return Collections.emptyList();
         }
-        Path path = toFile.toPath();
-        List<ClientInputFile> files = new ArrayList<>();
-        boolean applyTestRules = useTestRules && dataManager.isTest(toFile);
-        files.add(new FSClientInputFile(
-            contentToAnalyze == null ? new String(Files.readAllBytes(path)) : contentToAnalyze,
-            path.toAbsolutePath(),
-            path.toFile().getName(),
-            applyTestRules,
-            FileEncodingQuery.getEncoding(fileObject))
-        );
 
-        StandaloneAnalysisConfiguration standaloneAnalysisConfiguration =
-            StandaloneAnalysisConfiguration.builder()
-            .setBaseDir(new File(sonarLintHome).toPath())
-            .addInputFiles(files)
-            .addExcludedRules(excludedRules)
-            .addIncludedRules(includedRules)
-            .addRuleParameters(sonarLintEngine.getRuleParameters(projectForRules))
-            .putAllExtraProperties(getMergedExtraPropertiesAndReplaceVariables(sonarLintEngine, dataManager.getProject(fileObject).orElse(SonarLintEngine.GLOBAL_SETTINGS_PROJECT)))
-            .build();
+        // Same content with same configuration produce same issues
+        Optional<List<Issue>> cachedIssues = editorAnalysis.findIssues();
+        if (cachedIssues.isPresent()) {
+            LOG.fine(() -> "Analyze result for file \"" + fileObject.getPath() + "\" retrieved from cache");
+            return cachedIssues.get();
+        }
 
+        List<Issue> issues = new ArrayList<>();
+        StandaloneAnalysisConfiguration standaloneAnalysisConfiguration = editorAnalysis.toAnalysisConfiguration(
+            Collections.singletonList(editorAnalysis.toClientInputFile(editorAnalysis.content))
+        );
 
-        AnalysisResults analyze = sonarLintEngine.analyze(
+        AnalysisResults analyze = editorAnalysis.sonarLintEngine.analyze(
             standaloneAnalysisConfiguration,
             issues::add,
             null,
-            null
+            monitor,
+            priority
         );
         LOG.fine(() -> "Analyze result for file \"" + fileObject.getPath() + "\" : " + analyze);
+        if (analyze.failedAnalysisFiles().isEmpty()) {
+            editorAnalysis.putIssues(isSavedContent(fileObject, contentToAnalyze), issues);
+        }
         return issues;
     }
 
+    /**
+     * Retrieve true if content to analyze is the content saved on disk, only issues of saved content are kept between IDE sessions
+     * @param fileObject file to analyze
+     * @param contentToAnalyze content to analyze, if null then saved content of file is analyzed
+     * @return true if content to analyze is the content saved on disk
+     */
+    private static boolean isSavedContent(FileObject fileObject, String contentToAnalyze) {
+        if (contentToAnalyze == null) {
+            return true;
+        }
+        try {
+            return !DataObject.find(fileObject).isModified();
+        } catch (DataObjectNotFoundException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Retrieve issues found by a previous analysis of the same content, during this session or a previous session of the IDE,
+     * without analyzing the file and without waiting for the engine.
+     * Rule configuration of previous analysis is not checked, file must be analyzed again to check issues
+     * (issues are reused by this analysis if configuration is the same).
+     * @param fileObject file to analyze
+     * @param contentToAnalyze content to analyze, if null then saved content of file is used
+     * @return issues found by a previous analysis if exists
+     * @throws IOException if saved content of file cannot be read
+     */
+    public static Optional<List<Issue>> findStoredIssues(FileObject fileObject, String contentToAnalyze) throws IOException {
+        EditorAnalysis editorAnalysis = EditorAnalysis.read(fileObject, contentToAnalyze);
+        if (editorAnalysis == null) {
+            return Optional.empty();
+        }
+        // Issues are attached to the file on disk, content may be different
+        return ISSUE_STORE.getSameContent(
+            editorAnalysis.storeKey,
+            editorAnalysis.path,
+            editorAnalysis.content,
+            editorAnalysis.toClientInputFile(null)
+        );
+    }
+
+    /**
+     * Analyze saved content of files with one analysis by rule configuration instead of one analysis by file
+     * @param fileObjects files to analyze
+     * @param monitor monitor checking if the analysis is cancelled, can be null
+     * @param priority priority of analyses against other analyses
+     * @return issues found by file, files in failure are missing
+     */
+    public static Map<FileObject, List<Issue>> analyze(
+        Collection<FileObject> fileObjects,
+        ClientProgressMonitor monitor,
+        SonarLintAnalysisExecutor.Priority priority
+    ) {
+        Map<FileObject, List<Issue>> issuesByFile = new HashMap<>();
+        SonarLintEngine sonarLintEngine = Lookup.getDefault().lookup(SonarLintEngine.class);
+        if (sonarLintEngine == null) {
+            return issuesByFile;
+        }
+        // Engine restarts once for all missing analyzers, before rule configurations are built
+        sonarLintEngine.loadAnalyzersOnDemand(fileObjects.stream().map(FileObject::getNameExt).collect(Collectors.toList()));
+        // Files of a project share the same rule configuration
+        Map<List<Object>, List<EditorAnalysis>> analysesByConfiguration = new HashMap<>();
+        for (FileObject fileObject : fileObjects) {
+            try {
+                EditorAnalysis editorAnalysis = EditorAnalysis.create(fileObject, null);
+                if (editorAnalysis == null) {
+                    continue;
+                }
+                Optional<List<Issue>> cachedIssues = editorAnalysis.findIssues();
+                if (cachedIssues.isPresent()) {
+                    issuesByFile.put(fileObject, cachedIssues.get());
+                } else {
+                    analysesByConfiguration.computeIfAbsent(
+                        Arrays.asList(editorAnalysis.sonarLintEngine, editorAnalysis.rulesConfiguration, editorAnalysis.extraProperties),
+                        k -> new ArrayList<>()
+                    ).add(editorAnalysis);
+                }
+            } catch (IOException ex) {
+                LOG.log(Level.WARNING, "Unable to read \"{0}\": {1}", new Object[]{fileObject.getPath(), ex.getMessage()});
+            }
+        }
+        for (List<EditorAnalysis> editorAnalyses : analysesByConfiguration.values()) {
+            Map<URI, EditorAnalysis> editorAnalysisByURI = new HashMap<>();
+            Map<URI, FileObject> fileObjectByURI = new HashMap<>();
+            Map<URI, List<Issue>> issuesByURI = new HashMap<>();
+            List<ClientInputFile> inputFiles = new ArrayList<>();
+            for (EditorAnalysis editorAnalysis : editorAnalyses) {
+                ClientInputFile inputFile = editorAnalysis.toClientInputFile(editorAnalysis.content);
+                URI uri = inputFile.uri();
+                editorAnalysisByURI.put(uri, editorAnalysis);
+                fileObjectByURI.put(uri, editorAnalysis.fileObject);
+                issuesByURI.put(uri, new ArrayList<>());
+                inputFiles.add(inputFile);
+            }
+            EditorAnalysis reference = editorAnalyses.get(0);
+            AnalysisResults analyze = reference.sonarLintEngine.analyze(
+                reference.toAnalysisConfiguration(inputFiles),
+                issue -> {
+                    ClientInputFile inputFile = issue.getInputFile();
+                    List<Issue> issues = inputFile == null ? null : issuesByURI.get(inputFile.uri());
+                    if (issues != null) {
+                        issues.add(issue);
+                    }
+                },
+                null,
+                monitor,
+                priority
+            );
+            for (ClientInputFile failedAnalysisFile : analyze.failedAnalysisFiles()) {
+                issuesByURI.remove(failedAnalysisFile.uri());
+            }
+            issuesByURI.forEach((URI uri, List<Issue> issues) -> {
+                editorAnalysisByURI.get(uri).putIssues(true, issues);
+                issuesByFile.put(fileObjectByURI.get(uri), issues);
+            });
+        }
+        return issuesByFile;
+    }
+
+    /**
+     * Configuration and content of analysis of a file opened in editor.
+     * Content is read without engine, configuration is known only once engine is ready
+     */
+    private static final class EditorAnalysis {
+        private final SonarLintEngine sonarLintEngine;
+        private final FileObject fileObject;
+        private final Path path;
+        private final String content;
+        private final Charset encoding;
+        private final boolean applyTestRules;
+        private final Project project;
+        private final Project projectForRules;
+        private final String storeKey;
+        private RuleConfigurationSnapshot rulesConfiguration;
+        private Map<String, String> extraProperties;
+        private SonarLintIssueCache.Key issueCacheKey;
+
+        private EditorAnalysis(SonarLintEngine sonarLintEngine, SonarLintDataManager dataManager, FileObject fileObject, File file, String contentToAnalyze) throws IOException {
+            this.sonarLintEngine = sonarLintEngine;
+            this.fileObject = fileObject;
+            project = dataManager.getProject(fileObject).orElse(SonarLintEngine.GLOBAL_SETTINGS_PROJECT);
+            projectForRules = SonarLintDataManagerUtils.getProjectForAnalyse(dataManager, project);
+            SonarLintOptions sonarlintOptions = Lookup.getDefault().lookup(SonarLintOptions.class);
+            boolean useTestRules = sonarlintOptions == null || sonarlintOptions.applyDifferentRulesOnTestFiles();
+            path = file.toPath();
+            applyTestRules = useTestRules && dataManager.isTest(file);
+            encoding = FileEncodingQuery.getEncoding(fileObject);
+            content = contentToAnalyze == null ? new String(Files.readAllBytes(path), encoding) : contentToAnalyze;
+            storeKey = SonarLintIssueStore.toStoreKey(project);
+        }
+
+        /**
+         * Retrieve rule configuration and key of analysis, wait for engine if it is not ready
+         * @return this analysis
+         */
+        private EditorAnalysis configure() {
+            sonarLintEngine.loadAnalyzersOnDemand(Collections.singletonList(path.getFileName().toString()));
+            rulesConfiguration = sonarLintEngine.getRuleConfiguration(projectForRules);
+            RuleConfigurationSnapshot projectConfiguration = sonarLintEngine.getRuleConfiguration(project);
+            extraProperties = projectConfiguration.getExtraProperties();
+            ISSUE_CACHE.watch(sonarLintEngine);
+            issueCacheKey = new SonarLintIssueCache.Key(
+                path,
+                content,
+                SonarLintIssueCache.withAnalyzers(
+                    SonarLintIssueCache.fingerprint(
+                        applyTestRules,
+                        rulesConfiguration.getRulesFingerprint(),
+                        projectConfiguration.getExtraPropertiesFingerprint()
+                    ),
+                    sonarLintEngine.getPluginDetails()
+                )
+            );
+            return this;
+        }
+
+        private static EditorAnalysis create(FileObject fileObject, String contentToAnalyze) throws IOException {
+            EditorAnalysis editorAnalysis = read(fileObject, contentToAnalyze);
+            return editorAnalysis == null ? null : editorAnalysis.configure();
+        }
+
+        private static EditorAnalysis read(FileObject fileObject, String contentToAnalyze) throws IOException {
+            SonarLintEngine sonarLintEngine = Lookup.getDefault().lookup(SonarLintEngine.class);
+            if (sonarLintEngine == null) {
+                return null;
+            }
+            File toFile = FileUtil.toFile(fileObject);
+            if (toFile == null) {
+                return null;
+            }
+            SonarLintDataManager dataManager = Lookup.getDefault().lookup(SonarLintDataManager.class);
+            return new EditorAnalysis(sonarLintEngine, dataManager, fileObject, toFile, contentToAnalyze);
+        }
+
+        /**
+         * Retrieve issues of a previous analysis with same content and same configuration, during this session or a previous one
+         * @return issues of previous analysis if exists
+         */
+        private Optional<List<Issue>> findIssues() {
+            Optional<List<Issue>> cachedIssues = ISSUE_CACHE.get(issueCacheKey);
+            if (cachedIssues.isPresent()) {
+                return cachedIssues;
+            }
+            Optional<List<Issue>> storedIssues = ISSUE_STORE.get(storeKey, issueCacheKey, toClientInputFile(null));
+            storedIssues.ifPresent(issues -> ISSUE_CACHE.put(issueCacheKey, issues));
+            return storedIssues;
+        }
+
+        /**
+         * Keep issues found by analysis
+         * @param savedContent true if analyzed content is saved on disk to keep issues between IDE sessions
+         * @param issues issues found
+         */
+        private void putIssues(boolean savedContent, List<Issue> issues) {
+            ISSUE_CACHE.put(issueCacheKey, issues);
+            if (savedContent) {
+                ISSUE_STORE.put(storeKey, issueCacheKey, issues);
+            }
+        }
+
+        private StandaloneAnalysisConfiguration toAnalysisConfiguration(List<ClientInputFile> inputFiles) {
+            String sonarLintHome = System.getProperty("user.home") + File.separator + ".sonarlint4netbeans";
+            return StandaloneAnalysisConfiguration.builder()
+                .setBaseDir(new File(sonarLintHome).toPath())
+                .addInputFiles(inputFiles)
+                .addExcludedRules(rulesConfiguration.getExcludedRules())
+                .addIncludedRules(rulesConfiguration.getIncludedRules())
+                .addRuleParameters(rulesConfiguration.getRuleParameters())
+                .putAllExtraProperties(extraProperties)
+                .build();
+        }
+
+        private ClientInputFile toClientInputFile(String content) {
+            return new FSClientInputFile(
+                content,
+                path.toAbsolutePath(),
+                path.toFile().getName(),
+                applyTestRules,
+                encoding
+            );
+        }
+    }
+
     /**
      * Retrive stylesheet for HTML rule detail description
      * @param sonarLintOptions SonarLint global integration option used to retrieve the stylesheet to apply
@@ -470,6 +724,8 @@ public final class SonarLintUtils {
         if (sonarLintEngine == null) {
             return new AnalysisResults();
         }
+        // Rule configurations must be built with analyzers of all languages
+        sonarLintEngine.loadAnalyzersOnDemand(files.stream().map(File::getName).collect(Collectors.toList()));
 
         List<File> fileGlobalSettings = new ArrayList<>();
         Map<Project, List<File>> fileByProject = new HashMap<>();
@@ -486,14 +742,17 @@ public final class SonarLintUtils {
             }
         }
 
-        // Separe analyze and merge results
-        if (!fileGlobalSettings.isEmpty() && !fileByProject.isEmpty() || fileByProject.size() > 1) {
+        List<List<File>> batches = new ArrayList<>();
+        if (!fileGlobalSettings.isEmpty()) {
+            batches.add(fileGlobalSettings);
+        }
+        batches.addAll(fileByProject.values());
+
+        // Separe analyze and merge results, engine runs one analysis at a time
+        if (batches.size() > 1) {
             AnalysisResultsMergerable analysisResults = new AnalysisResultsMergerable();
-            if (!fileGlobalSettings.isEmpty()) {
-                analysisResults.merge(analyze(fileGlobalSettings, listener, clientInputFileInputStreamEvent, sonarLintAnalyzerCancelableTask));
-            }
-            for (List<File> value : fileByProject.values()) {
-                analysisResults.merge(analyze(value, listener, clientInputFileInputStreamEvent, sonarLintAnalyzerCancelableTask));
+            for (List<File> batch : batches) {
+                analysisResults.merge(analyze(batch, listener, clientInputFileInputStreamEvent, sonarLintAnalyzerCancelableTask));
             }
             return analysisResults;
         }
@@ -510,27 +769,22 @@ public final class SonarLintUtils {
         }
 
         String sonarLintHome = System.getProperty("user.home") + File.separator + ".sonarlint4netbeans";
-        List<RuleKey> excludedRules = new ArrayList<>(sonarLintEngine.getExcludedRules(projectForRules));
-        List<RuleKey> includedRules = new ArrayList<>(sonarLintEngine.getIncludedRules(projectForRules));
+        RuleConfigurationSnapshot rulesConfiguration = sonarLintEngine.getRuleConfiguration(projectForRules);
+        RuleConfigurationSnapshot projectConfiguration = sonarLintEngine.getRuleConfiguration(project);
         List<FSClientInputFile> clientInputFiles = new ArrayList<>();
         for (File file : files) {
-            // Map file to implementation of ClientInputFile
+            // Map file to implementation of ClientInputFile, content is read from disk only during analysis
             Path path = file.toPath();
-            try {
-                Optional<Charset> encoding = dataManager.getEncoding(file);
-                if (encoding.isPresent()) {
-                    clientInputFiles.add(new FSClientInputFile(
-                        new String(Files.readAllBytes(path), encoding.get()),
-                        path.toAbsolutePath(),
-                        path.toFile().getName(),
-                        dataManager.isTest(file),
-                        encoding.get()
-                    ));
-                } else {
-                    LOG.warning("Unable to detect encoding from file \"" + file.getAbsolutePath() + "\"");
-                }
-            } catch (IOException ex) {
-                LOG.warning("Error during getEncoding from \"" + file.getAbsolutePath() + "\": " + ex.getMessage());
+            Optional<Charset> encoding = dataManager.getEncoding(file);
+            if (encoding.isPresent()) {
+                clientInputFiles.add(new FSClientInputFile(
+                    path.toAbsolutePath(),
+                    path.toFile().getName(),
+                    dataManager.isTest(file),
+                    encoding.get()
+                ));
+            } else {
+                LOG.warning("Unable to detect encoding from file \"" + file.getAbsolutePath() + "\"");
             }
         }
 
@@ -538,10 +792,10 @@ public final class SonarLintUtils {
             StandaloneAnalysisConfiguration.builder()
             .setBaseDir(new File(sonarLintHome).toPath())
             .addInputFiles(clientInputFiles)
-            .addExcludedRules(excludedRules)
-            .addIncludedRules(includedRules)
-            .addRuleParameters(sonarLintEngine.getRuleParameters(project))
-            .putAllExtraProperties(getMergedExtraPropertiesAndReplaceVariables(sonarLintEngine, project))
+            .addExcludedRules(rulesConfiguration.getExcludedRules())
+            .addIncludedRules(rulesConfiguration.getIncludedRules())
+            .addRuleParameters(projectConfiguration.getRuleParameters())
+            .putAllExtraProperties(projectConfiguration.getExtraProperties())
             .build();
 
         // Add listener only after configuration to prevent ClientInputFile.uri() call during configuration phase
@@ -570,47 +824,142 @@ public final class SonarLintUtils {
                 public void setIndeterminate(boolean indeterminate) {
                     LOG.info("ClientProgressMonitor.setIndeterminate(" + indeterminate + ")");
                 }
-            }
+            },
+            SonarLintAnalysisExecutor.Priority.BACKGROUND
         );
     }
 
     public static List<File> toFiles(Node[] nodes) {
-        List<File> files = new ArrayList<>();
+        return toFiles(nodes, () -> false);
+    }
+
+    /**
+     * Collect files of selected nodes supposed to be analyzed, directories are walked in parallel.
+     * Build outputs, version control directories, files without suffix of a known language
+     * and files or directories matching exclusion patterns of the project of selected node are skipped.
+     * @param nodes selected nodes
+     * @param canceled true to stop collecting files
+     * @return files found before cancellation, sorted by path
+     */
+    public static List<File> toFiles(Node[] nodes, BooleanSupplier canceled) {
+        Predicate<String> fileNameFilter = toAnalyzedFileNameFilter();
+        Queue<File> files = new ConcurrentLinkedQueue<>();
+        List<FilesCollector> collectors = new ArrayList<>();
         for (Node node : nodes) {
             DataObject dataObjectOfNode = node.getLookup().lookup(DataObject.class);
             if (dataObjectOfNode != null) {
                 File file = FileUtil.toFile(dataObjectOfNode.getPrimaryFile());
-                try {
-                    Files.walkFileTree(file.toPath(), new FileVisitor<Path>() {
-                        @Override
-                        public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
-                            return dir.endsWith("generated-sources") ? FileVisitResult.SKIP_SUBTREE : FileVisitResult.CONTINUE;
-                        }
-                        
-                        @Override
-                        public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
-                            files.add(file.toFile());
-                            return FileVisitResult.CONTINUE;
-                        }
-                        
-                        @Override
-                        public FileVisitResult visitFileFailed(Path file, IOException exc) throws IOException {
-                            return FileVisitResult.SKIP_SUBTREE;
-                        }
-                        
-                        @Override
-                        public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
-                            return FileVisitResult.CONTINUE;
+                if (file == null) {
+                    continue;
+                }
+                if (file.isDirectory()) {
+                    SonarLintExclusions exclusions = getExclusions(dataObjectOfNode.getPrimaryFile());
+                    collectors.add(new FilesCollector(file.toPath(), fileNameFilter, exclusions, canceled, files));
+                } else {
+                    // File explicitly selected
+                    files.add(file);
+                }
+            }
+        }
+        FILES_COLLECTOR_POOL.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(collectors);
+            }
+        });
+        List<File> sortedFiles = new ArrayList<>(files);
+        Collections.sort(sortedFiles);
+        return sortedFiles;
+    }
+
+    /**
+     * Retrieve true if a file match an exclusion pattern of its project or global settings
+     * @param fileObject file to check
+     * @return true if file is not supposed to be analyzed
+     */
+    public static boolean isExcluded(FileObject fileObject) {
+        File file = FileUtil.toFile(fileObject);
+        return file != null && getExclusions(fileObject).isExcluded(file.toPath());
+    }
+
+    private static SonarLintExclusions getExclusions(FileObject fileObject) {
+        SonarLintEngine sonarLintEngine = Lookup.getDefault().lookup(SonarLintEngine.class);
+        SonarLintDataManager dataManager = Lookup.getDefault().lookup(SonarLintDataManager.class);
+        if (sonarLintEngine == null || dataManager == null) {
+            return SonarLintExclusions.NONE;
+        }
+        return sonarLintEngine.getExclusions(dataManager.getProject(fileObject).orElse(SonarLintEngine.GLOBAL_SETTINGS_PROJECT));
+    }
+
+    /**
+     * Create filter of file names with suffix of a language, all files are accepted if a language has no suffix
+     * @return filter of file names
+     */
+    private static Predicate<String> toAnalyzedFileNameFilter() {
+        Set<String> suffixes = new HashSet<>();
+        for (Language language : Language.values()) {
+            String[] defaultFileSuffixes = language.getDefaultFileSuffixes();
+            if (defaultFileSuffixes.length == 0) {
+                return fileName -> true;
+            }
+            suffixes.addAll(Arrays.asList(defaultFileSuffixes));
+        }
+        return fileName -> suffixes.stream().anyMatch(fileName::endsWith);
+    }
+
+    /**
+     * Collect files of a directory, each sub directory is collected by another task
+     */
+    private static final class FilesCollector extends RecursiveAction {
+
+        private static final Set<String> EXCLUDED_DIRECTORY_NAMES = new HashSet<>(Arrays.asList(
+            ".git", ".hg", ".svn", "CVS", "node_modules", "generated-sources"
+        ));
+        private final transient Path directory;
+        private final transient Predicate<String> fileNameFilter;
+        private final transient SonarLintExclusions exclusions;
+        private final transient BooleanSupplier canceled;
+        private final transient Queue<File> files;
+
+        private FilesCollector(Path directory, Predicate<String> fileNameFilter, SonarLintExclusions exclusions, BooleanSupplier canceled, Queue<File> files) {
+            this.directory = directory;
+            this.fileNameFilter = fileNameFilter;
+            this.exclusions = exclusions;
+            this.canceled = canceled;
+            this.files = files;
+        }
+
+        @Override
+        protected void compute() {
+            if (canceled.getAsBoolean()) {
+                return;
+            }
+            List<FilesCollector> subDirectoryCollectors = new ArrayList<>();
+            try (DirectoryStream<Path> children = Files.newDirectoryStream(directory)) {
+                for (Path child : children) {
+                    BasicFileAttributes attributes = Files.readAttributes(child, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                    String name = child.getFileName().toString();
+                    if (attributes.isDirectory()) {
+                        if (isAnalyzedDirectory(child, name) && !exclusions.isExcluded(child)) {
+                            subDirectoryCollectors.add(new FilesCollector(child, fileNameFilter, exclusions, canceled, files));
                         }
-                    });
-                } catch (IOException ex) {
-                    Exceptions.printStackTrace(ex);
+                    } else if (attributes.isRegularFile() && fileNameFilter.test(name) && !exclusions.isExcluded(child)) {
+                        files.add(child.toFile());
+                    }
                 }
+            } catch (IOException ex) {
+                LOG.log(Level.FINE, "Unable to list files of \"{0}\": {1}", new Object[]{directory, ex.getMessage()});
             }
+            invokeAll(subDirectoryCollectors);
+        }
+
+        private static boolean isAnalyzedDirectory(Path directory, String name) {
+            // Build outputs and files ignored by version control are not sharable
+            return !EXCLUDED_DIRECTORY_NAMES.contains(name)
+                && SharabilityQuery.getSharability(directory.toUri()) != SharabilityQuery.Sharability.NOT_SHARABLE;
         }
-        return files;
     }
-    
+
     /**
      * Cut start URI too long
      * @param uri URI to truncate if too long
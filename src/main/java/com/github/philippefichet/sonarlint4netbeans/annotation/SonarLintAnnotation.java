@@ -19,8 +19,11 @@
  */
 package com.github.philippefichet.sonarlint4netbeans.annotation;
 
+import com.github.philippefichet.sonarlint4netbeans.SonarLintRuleMetadata;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
-import org.apache.commons.text.StringEscapeUtils;
+import javax.swing.text.Position;
 import org.openide.text.Annotation;
 import org.sonarsource.sonarlint.core.client.api.standalone.StandaloneRuleParam;
 import org.sonarsource.sonarlint.core.commons.IssueSeverity;
@@ -38,7 +41,11 @@ public class SonarLintAnnotation extends Annotation {
     public static final String ANNOTATION_TYPE_BLOCKER = "com-github-philippefichet-sonarlint4netbeans-annotation-blocker";
     private final long startOffest;
     private final int length;
-    private final String shortDescription;
+    private final SonarLintRuleMetadata ruleMetadata;
+    private final Map<StandaloneRuleParam, String> ruleParams;
+    private String shortDescription;
+    // Position following edits of document once annotation is attached
+    private volatile Position startPosition;
     private final String ruleKey;
     private final String ruleName;
     private final IssueSeverity severity;
@@ -50,34 +57,51 @@ public class SonarLintAnnotation extends Annotation {
         this.ruleKey = ruleKey;
         this.ruleName = ruleName;
         this.severity = severity;
-        StringBuilder sb = new StringBuilder("<html>");
-        sb.append("<strong>");
-        sb.append(ruleKey);
-        sb.append(": ")
-            .append(StringEscapeUtils.escapeHtml4(ruleName))
-            .append("</strong>")
-            .append("<br/>Click to show details");
-        if (!ruleParams.isEmpty()) {
-            sb.append("<br/><br/><strong>Parameters:</strong><br/>");
-            for (Map.Entry<StandaloneRuleParam, String> ruleParam : ruleParams.entrySet()) {
-                StandaloneRuleParam standaloneRuleParam = ruleParam.getKey();
-                sb.append("<div>")
-                    .append(standaloneRuleParam.name())
-                    .append(": ")
-                    .append(standaloneRuleParam.description())
-                    .append(". (value: ")
-                    .append(ruleParam.getValue())
-                    .append(", default: ")
-                    .append(standaloneRuleParam.defaultValue())
-                    .append(")</div>");
-            }
-        }
-        this.shortDescription = sb.append("</html>")
-            .toString();
+        this.ruleMetadata = null;
+        this.ruleParams = ruleParams;
+    }
+
+    /**
+     * Create annotation of an issue sharing the tooltip of its rule
+     * @param ruleMetadata metadata of rule of issue
+     * @param severity severity of issue
+     * @param startOffest start offset of issue in document
+     * @param length length of issue in document
+     */
+    public SonarLintAnnotation(SonarLintRuleMetadata ruleMetadata, IssueSeverity severity, long startOffest, int length) {
+        super();
+        this.startOffest = startOffest;
+        this.length = length;
+        this.ruleKey = ruleMetadata.getKey();
+        this.ruleName = ruleMetadata.getName();
+        this.severity = severity;
+        this.ruleMetadata = ruleMetadata;
+        this.ruleParams = null;
     }
 
     public long getStartOffest() {
-        return startOffest;
+        Position position = startPosition;
+        return position == null ? startOffest : position.getOffset();
+    }
+
+    void setStartPosition(Position startPosition) {
+        this.startPosition = startPosition;
+    }
+
+    /**
+     * Key identifying the issue displayed by this annotation, equal for annotations displaying the same issue at the same place
+     * @return key of displayed issue
+     */
+    List<Object> toIssueKey() {
+        return Arrays.asList(
+            ruleKey,
+            getStartOffest(),
+            length,
+            severity,
+            ruleMetadata == null
+                ? SonarLintRuleMetadata.toParameterValues(ruleParams)
+                : ruleMetadata.getParameterValues()
+        );
     }
 
     public int getLength() {
@@ -104,7 +128,16 @@ public class SonarLintAnnotation extends Annotation {
 
     @Override
     public String getShortDescription() {
-        return shortDescription;
+        if (ruleMetadata != null) {
+            return ruleMetadata.getShortDescription();
+        }
+        // Tooltip is built only when displayed
+        synchronized (this) {
+            if (shortDescription == null) {
+                shortDescription = SonarLintRuleMetadata.toShortDescription(ruleKey, ruleName, ruleParams);
+            }
+            return shortDescription;
+        }
     }
 
     public String getRuleKey() {
@@ -0,0 +1,250 @@
+/*
+ * sonarlint4netbeans: SonarLint integration for Apache Netbeans
+ * Copyright (C) 2023 Philippe FICHET.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package com.github.philippefichet.sonarlint4netbeans.annotation;
+
+import com.github.philippefichet.sonarlint4netbeans.SonarLintRuleMetadata;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import javax.swing.text.Position;
+import javax.swing.text.Segment;
+import javax.swing.text.StyledDocument;
+import org.openide.text.NbDocument;
+import org.sonarsource.sonarlint.core.client.api.common.analysis.Issue;
+
+/**
+ * Annotations of an analysis prepared outside of the event dispatch thread and applied on document in one update
+ * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
+ */
+final class SonarLintAnnotationApplier {
+
+    private final StyledDocument document;
+    private final List<SonarLintAnnotation> annotations;
+    // Document edited since analysis, annotations are shown by analysis of the edited text
+    private final boolean outdated;
+
+    private SonarLintAnnotationApplier(StyledDocument document, List<SonarLintAnnotation> annotations, boolean outdated) {
+        this.document = document;
+        this.annotations = annotations;
+        this.outdated = outdated;
+    }
+
+    /**
+     * Create annotations of issues, offsets are computed from lines of analyzed text with one read of document.
+     * No annotation is created if document is no longer the analyzed text
+     * @param document document displaying issues
+     * @param analyzedText text analyzed, if null then text of document is used
+     * @param issues issues to display
+     * @param ruleMetadataProvider metadata of rule by rule key
+     * @return annotations to apply on document
+     */
+    static SonarLintAnnotationApplier prepare(
+        StyledDocument document,
+        String analyzedText,
+        List<Issue> issues,
+        Function<String, Optional<SonarLintRuleMetadata>> ruleMetadataProvider
+    ) {
+        List<Issue> issuesWithRule = new ArrayList<>(issues.size());
+        List<SonarLintRuleMetadata> ruleMetadataOfIssues = new ArrayList<>(issues.size());
+        for (Issue issue : issues) {
+            ruleMetadataProvider.apply(issue.getRuleKey()).ifPresent((SonarLintRuleMetadata ruleMetadata) -> {
+                issuesWithRule.add(issue);
+                ruleMetadataOfIssues.add(ruleMetadata);
+            });
+        }
+        List<SonarLintAnnotation> annotations = new ArrayList<>(issuesWithRule.size());
+        int[] lineStartOffsets = analyzedText == null ? null : toLineStartOffsets(analyzedText);
+        boolean[] outdated = new boolean[1];
+        document.render(() -> {
+            int[] offsets = lineStartOffsets;
+            try {
+                if (offsets == null) {
+                    offsets = toLineStartOffsets(document.getText(0, document.getLength()));
+                } else if (!isText(document, analyzedText)) {
+                    // Offsets of analyzed text are not offsets of edited document
+                    outdated[0] = true;
+                    return;
+                }
+            } catch (BadLocationException ex) {
+                outdated[0] = true;
+                return;
+            }
+            int documentLength = document.getLength();
+            for (int i = 0; i < issuesWithRule.size(); i++) {
+                Issue issue = issuesWithRule.get(i);
+                Integer startLine = issue.getStartLine();
+                Integer endLine = issue.getEndLine();
+                Integer startLineOffset = issue.getStartLineOffset();
+                Integer endLineOffset = issue.getEndLineOffset();
+                if (startLine == null || endLine == null) {
+                    startLine = 1;
+                    endLine = 1;
+                    startLineOffset = 0;
+                    endLineOffset = 0;
+                }
+                int startOffset = Math.min(toOffset(offsets, startLine, startLineOffset), documentLength);
+                int endOffset = Math.max(Math.min(toOffset(offsets, endLine, endLineOffset), documentLength), startOffset);
+                SonarLintAnnotation annotation = new SonarLintAnnotation(
+                    ruleMetadataOfIssues.get(i),
+                    issue.getSeverity(),
+                    startOffset,
+                    endOffset - startOffset
+                );
+                // Position follows edits of document until annotations are applied
+                try {
+                    annotation.setStartPosition(document.createPosition(startOffset));
+                } catch (BadLocationException ex) {
+                    // Annotation keeps offset of analysis
+                }
+                annotations.add(annotation);
+            }
+        });
+        return new SonarLintAnnotationApplier(document, annotations, outdated[0]);
+    }
+
+    /**
+     * Check if document contains exactly a text, without copy of text of document if possible
+     * @param document document to check, must be read locked
+     * @param text expected text
+     * @return true if document contains exactly the text
+     * @throws BadLocationException if document cannot be read
+     */
+    static boolean isText(Document document, String text) throws BadLocationException {
+        int length = document.getLength();
+        if (length != text.length()) {
+            return false;
+        }
+        Segment segment = new Segment();
+        document.getText(0, length, segment);
+        return CharSequence.compare(segment, text) == 0;
+    }
+
+    /**
+     * Retrieve true if document was edited since analysis, annotations are not applied
+     * @return true if document is no longer the analyzed text
+     */
+    boolean isOutdated() {
+        return outdated;
+    }
+
+    /**
+     * Compute offset of first character of each line
+     * @param text text to split in lines
+     * @return offset of first character by line index
+     */
+    static int[] toLineStartOffsets(CharSequence text) {
+        int[] lineStartOffsets = new int[16];
+        int lineCount = 1;
+        int length = text.length();
+        for (int offset = 0; offset < length; offset++) {
+            char c = text.charAt(offset);
+            if (c == '\n' || (c == '\r' && (offset + 1 == length || text.charAt(offset + 1) != '\n'))) {
+                if (lineCount == lineStartOffsets.length) {
+                    lineStartOffsets = Arrays.copyOf(lineStartOffsets, lineCount * 2);
+                }
+                lineStartOffsets[lineCount++] = offset + 1;
+            }
+        }
+        return Arrays.copyOf(lineStartOffsets, lineCount);
+    }
+
+    /**
+     * Compute offset in text of a position of an issue
+     * @param lineStartOffsets offset of first character by line index
+     * @param line line of issue, starting at 1
+     * @param lineOffset offset in line
+     * @return offset in text
+     */
+    static int toOffset(int[] lineStartOffsets, int line, int lineOffset) {
+        int lineIndex = Math.max(0, Math.min(line - 1, lineStartOffsets.length - 1));
+        return lineStartOffsets[lineIndex] + lineOffset;
+    }
+
+    /**
+     * Replace annotations of a previous analysis, only annotations of changed issues are removed or added.
+     * Previous annotations are kept if document was edited since analysis.
+     * Must be called in event dispatch thread.
+     * @param previousAnnotations annotations currently displayed on document
+     * @return annotations displayed on document
+     */
+    List<SonarLintAnnotation> apply(List<SonarLintAnnotation> previousAnnotations) {
+        if (outdated) {
+            // Analysis of edited text replaces annotations
+            return previousAnnotations;
+        }
+        // Keep annotations of issues still found at the same place, their positions follow edits of document
+        Map<List<Object>, Deque<SonarLintAnnotation>> previousAnnotationsByIssue = new HashMap<>();
+        for (SonarLintAnnotation sonarLintAnnotation : previousAnnotations) {
+            previousAnnotationsByIssue.computeIfAbsent(sonarLintAnnotation.toIssueKey(), k -> new ArrayDeque<>())
+                .add(sonarLintAnnotation);
+        }
+        List<SonarLintAnnotation> shownAnnotations = new ArrayList<>(annotations.size());
+        List<SonarLintAnnotation> addedAnnotations = new ArrayList<>();
+        for (SonarLintAnnotation sonarLintAnnotation : annotations) {
+            Deque<SonarLintAnnotation> unchangedAnnotations = previousAnnotationsByIssue.get(sonarLintAnnotation.toIssueKey());
+            SonarLintAnnotation unchangedAnnotation = unchangedAnnotations == null ? null : unchangedAnnotations.poll();
+            if (unchangedAnnotation != null) {
+                shownAnnotations.add(unchangedAnnotation);
+            } else {
+                shownAnnotations.add(sonarLintAnnotation);
+                addedAnnotations.add(sonarLintAnnotation);
+            }
+        }
+
+        // Remove annotations of issues no longer found
+        for (Deque<SonarLintAnnotation> removedAnnotations : previousAnnotationsByIssue.values()) {
+            for (SonarLintAnnotation sonarLintAnnotation : removedAnnotations) {
+                NbDocument.removeAnnotation(document, sonarLintAnnotation);
+            }
+        }
+
+        // Add new issues as annotations
+        for (SonarLintAnnotation sonarLintAnnotation : addedAnnotations) {
+            NbDocument.addAnnotation(
+                document,
+                new AnnotationPosition(sonarLintAnnotation), sonarLintAnnotation.getLength(), sonarLintAnnotation
+            );
+            sonarLintAnnotation.moveToFront();
+        }
+        return shownAnnotations;
+    }
+
+    private static final class AnnotationPosition implements Position {
+
+        private final SonarLintAnnotation sonarLintAnnotation;
+
+        private AnnotationPosition(SonarLintAnnotation sonarLintAnnotation) {
+            this.sonarLintAnnotation = sonarLintAnnotation;
+        }
+
+        @Override
+        public int getOffset() {
+            return (int) sonarLintAnnotation.getStartOffest();
+        }
+    }
+}
@@ -32,16 +32,16 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import javax.swing.text.Position;
+import javax.swing.SwingUtilities;
+import javax.swing.text.StyledDocument;
 import org.netbeans.api.project.Project;
 import org.openide.cookies.EditorCookie;
 import org.openide.filesystems.FileObject;
 import org.openide.loaders.DataObject;
 import org.openide.loaders.DataObjectNotFoundException;
-import org.openide.text.NbDocument;
 import org.openide.util.Lookup;
 import org.sonarsource.sonarlint.core.client.api.common.analysis.Issue;
-import org.sonarsource.sonarlint.core.client.api.standalone.StandaloneRuleDetails;
+import org.sonarsource.sonarlint.core.commons.progress.ClientProgressMonitor;
 
 /**
  *
@@ -76,19 +76,45 @@ public final class SonarLintAnnotationHandler {
     }
 
     public static void analyze(SonarLintEngine standaloneSonarLintEngine, FileObject fileObject, String textToAnalyze) throws DataObjectNotFoundException, IOException {
+        analyze(standaloneSonarLintEngine, fileObject, textToAnalyze, null);
+    }
+
+    public static void analyze(SonarLintEngine standaloneSonarLintEngine, FileObject fileObject, String textToAnalyze, ClientProgressMonitor monitor) throws DataObjectNotFoundException, IOException {
         // Sonarlint not ready
         if (standaloneSonarLintEngine == null) {
             return;
         }
+        showIssues(standaloneSonarLintEngine, fileObject, textToAnalyze, SonarLintUtils.analyze(fileObject, textToAnalyze, monitor));
+    }
+
+    /**
+     * Show issues found by a previous analysis of the same content with the same configuration, without analyzing the file
+     * @param standaloneSonarLintEngine engine used to retrieve rule details
+     * @param fileObject file opened in editor
+     * @param textToAnalyze content of file in editor
+     * @return true if issues of a previous analysis are shown, false if file must be analyzed
+     * @throws DataObjectNotFoundException if file is not opened
+     * @throws IOException if saved content of file cannot be read
+     */
+    public static boolean showStoredIssues(SonarLintEngine standaloneSonarLintEngine, FileObject fileObject, String textToAnalyze) throws DataObjectNotFoundException, IOException {
+        // Sonarlint not ready
+        if (standaloneSonarLintEngine == null) {
+            return false;
+        }
+        Optional<List<Issue>> storedIssues = SonarLintUtils.findStoredIssues(fileObject, textToAnalyze);
+        if (storedIssues.isPresent()) {
+            showIssues(standaloneSonarLintEngine, fileObject, textToAnalyze, storedIssues.get());
+            return true;
+        }
+        return false;
+    }
+
+    private static void showIssues(SonarLintEngine standaloneSonarLintEngine, FileObject fileObject, String analyzedText, List<Issue> issues) throws DataObjectNotFoundException {
         SonarLintDataManager dataManager = Lookup.getDefault().lookup(SonarLintDataManager.class);
         Project projectForAnalyse = SonarLintDataManagerUtils.getProjectForAnalyse(dataManager, fileObject);
         final EditorCookie editorCookie = DataObject.find(fileObject).getCookie(EditorCookie.class);
-        List<SonarLintAnnotation> currentAnnocationOnFileObject = new ArrayList<>();
-        List<SonarLintAnnotation> previousAnnotationOnFileObject = ANNOTATIONS_BY_FILEOBJECT.get(fileObject);
-
-        if (previousAnnotationOnFileObject == null) {
-            previousAnnotationOnFileObject = new ArrayList<>();
-            ANNOTATIONS_BY_FILEOBJECT.put(fileObject, previousAnnotationOnFileObject);
+        if (!ANNOTATIONS_BY_FILEOBJECT.containsKey(fileObject)) {
+            ANNOTATIONS_BY_FILEOBJECT.put(fileObject, new ArrayList<>());
             final EditorCookie.Observable cookie = DataObject.find(fileObject)
                     .getCookie(EditorCookie.Observable.class);
 
@@ -107,69 +133,22 @@ public final class SonarLintAnnotationHandler {
             });
         }
 
-        List<Issue> issues = SonarLintUtils.analyze(fileObject, textToAnalyze);
-        issues.forEach(sue -> {
-            Integer startLine = sue.getStartLine();
-            Integer endLine = sue.getEndLine();
-            Integer startLineOffset = sue.getStartLineOffset();
-            Integer endLineOffset = sue.getEndLineOffset();
-            if (startLine == null || endLine == null) {
-                startLine = 1;
-                endLine = 1;
-                startLineOffset = 0;
-                endLineOffset = 0;
+        StyledDocument document = editorCookie.getDocument();
+        SonarLintAnnotationApplier annotationApplier = SonarLintAnnotationApplier.prepare(
+            document,
+            analyzedText,
+            issues,
+            ruleKey -> standaloneSonarLintEngine.getRuleMetadata(ruleKey, projectForAnalyse)
+        );
+        // Annotations of all issues are displayed at once
+        SwingUtilities.invokeLater(() -> {
+            List<SonarLintAnnotation> previousAnnotations = ANNOTATIONS_BY_FILEOBJECT.get(fileObject);
+            // Nothing to display if file is closed since analysis
+            if (previousAnnotations != null) {
+                // Current annotation become futur previous annotation
+                ANNOTATIONS_BY_FILEOBJECT.put(fileObject, annotationApplier.apply(previousAnnotations));
             }
-
-            int nbStartLineOffset = NbDocument.findLineOffset(editorCookie.getDocument(), startLine - 1);
-            int startOffset = nbStartLineOffset + startLineOffset;
-            int nbEndLineOffset = NbDocument.findLineOffset(editorCookie.getDocument(), endLine - 1);
-            int endOffset = nbEndLineOffset + endLineOffset;
-            int length = endOffset - startOffset;
-            standaloneSonarLintEngine.getRuleDetails(sue.getRuleKey()).ifPresent(
-                (StandaloneRuleDetails  ruleDetails) ->
-                currentAnnocationOnFileObject.add(
-                    new SonarLintAnnotation(
-                        sue.getRuleKey(),
-                        ruleDetails.getName(),
-                        SonarLintUtils.extractRuleParameters(standaloneSonarLintEngine, sue.getRuleKey(), projectForAnalyse),
-                        sue.getSeverity(),
-                        startOffset,
-                        length
-                    )
-                )
-            );
         });
-
-        // Remove all previous Sonarlint annotations
-        for (SonarLintAnnotation sonarLintAnnotation : previousAnnotationOnFileObject) {
-            NbDocument.removeAnnotation(editorCookie.getDocument(), sonarLintAnnotation);
-        }
-
-        // Add current issue as annotations
-        for (final SonarLintAnnotation sonarLintAnnotation : currentAnnocationOnFileObject) {
-            NbDocument.addAnnotation(
-                editorCookie.getDocument(),
-                new PositionImpl(sonarLintAnnotation), sonarLintAnnotation.getLength(), sonarLintAnnotation
-            );
-            sonarLintAnnotation.moveToFront();
-        }
-
-        // Current annotation become futur previous annotation
-        ANNOTATIONS_BY_FILEOBJECT.put(fileObject, currentAnnocationOnFileObject);
-    }
-
-    private static class PositionImpl implements Position {
-
-        private final SonarLintAnnotation sonarLintAnnotation;
-
-        public PositionImpl(SonarLintAnnotation sonarLintAnnotation) {
-            this.sonarLintAnnotation = sonarLintAnnotation;
-        }
-
-        @Override
-        public int getOffset() {
-            return (int) sonarLintAnnotation.getStartOffest();
-        }
     }
 
 }
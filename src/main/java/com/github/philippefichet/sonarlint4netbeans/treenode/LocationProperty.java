@@ -21,7 +21,7 @@ package com.github.philippefichet.sonarlint4netbeans.treenode;
 
 import java.lang.reflect.InvocationTargetException;
 import org.openide.nodes.PropertySupport;
-import org.sonarsource.sonarlint.core.client.api.common.analysis.DefaultClientIssue;
+import org.sonarsource.sonarlint.core.client.api.common.analysis.Issue;
 
 /**
  *
@@ -32,9 +32,13 @@ public class LocationProperty extends PropertySupport.ReadOnly<String> {
     public static final String DISPLAY_NAME = "Location";
     private final String value;
 
-    public LocationProperty(DefaultClientIssue issue) {
+    public LocationProperty(Issue issue) {
+        this(issue.getStartLine(), issue.getStartLineOffset(), issue.getEndLine(), issue.getEndLineOffset());
+    }
+
+    public LocationProperty(Integer startLine, Integer startLineOffset, Integer endLine, Integer endLineOffset) {
         super(NAME, String.class, DISPLAY_NAME, DISPLAY_NAME);
-        value = "start at line " + issue.getStartLine() + " and column " + issue.getStartLineOffset() + " to end at line " + issue.getEndLine() + " and column" + issue.getEndLineOffset();
+        value = "start at line " + startLine + " and column " + startLineOffset + " to end at line " + endLine + " and column" + endLineOffset;
     }
 
     @Override
@@ -19,35 +19,158 @@
  */
 package com.github.philippefichet.sonarlint4netbeans.treenode;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.IntStream;
 import org.openide.nodes.Children;
 import org.openide.nodes.Node;
-import org.sonarsource.sonarlint.core.client.api.common.analysis.DefaultClientIssue;
 import org.sonarsource.sonarlint.core.client.api.common.analysis.Issue;
+import org.sonarsource.sonarlint.core.commons.RuleType;
 
 /**
- *
+ * Issues of a rule stored by column, nodes are created only for displayed issues
  * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
  */
-public class SonarLintAnalyserIssueChildren extends Children.Keys<Issue> {
+public class SonarLintAnalyserIssueChildren extends Children.Keys<Integer> {
+
+    // Missing line or column of an issue
+    private static final int NO_VALUE = Integer.MIN_VALUE;
+    private final SonarLintAnalyserIssueFiles files;
+    private final String ruleName;
+    private final String severity;
+    private final RuleType type;
+    private int size = 0;
+    private int[] fileIds = new int[8];
+    private int[] startLines = new int[8];
+    private int[] startLineOffsets = new int[8];
+    private int[] endLines = new int[8];
+    private int[] endLineOffsets = new int[8];
+    // Index of issues sorted by file name, line and column
+    private int[] sortedRows = new int[8];
+
+    SonarLintAnalyserIssueChildren(SonarLintAnalyserIssueFiles files, String ruleName, String severity, RuleType type) {
+        super(true);
+        this.files = files;
+        this.ruleName = ruleName;
+        this.severity = severity;
+        this.type = type;
+    }
+
+    /**
+     * Add issues of the rule with one refresh of children, new issues are sorted and merged with previous issues
+     * @param issues issues of the rule
+     */
+    public void addIssues(List<Issue> issues) {
+        int previousSize = size;
+        ensureCapacity(size + issues.size());
+        for (Issue issue : issues) {
+            fileIds[size] = files.toId(issue.getInputFile());
+            startLines[size] = toValue(issue.getStartLine());
+            startLineOffsets[size] = toValue(issue.getStartLineOffset());
+            endLines[size] = toValue(issue.getEndLine());
+            endLineOffsets[size] = toValue(issue.getEndLineOffset());
+            size++;
+        }
+        int[] newRows = IntStream.range(previousSize, size)
+            .boxed()
+            .sorted(this::compareRows)
+            .mapToInt(Integer::intValue)
+            .toArray();
+        int[] mergedRows = new int[sortedRows.length];
+        int previousIndex = 0;
+        int newIndex = 0;
+        for (int i = 0; i < size; i++) {
+            if (newIndex == newRows.length
+                || (previousIndex < previousSize && compareRows(sortedRows[previousIndex], newRows[newIndex]) <= 0)
+            ) {
+                mergedRows[i] = sortedRows[previousIndex++];
+            } else {
+                mergedRows[i] = newRows[newIndex++];
+            }
+        }
+        sortedRows = mergedRows;
+        setKeys(new SortedRows(sortedRows, size));
+    }
 
-    private final java.util.Map<Issue, SonarLintAnalyserIssueNode> nodeInstancies = new HashMap<>();
-    private final SonarLintAnalyserIssueComparator issueComparator = new SonarLintAnalyserIssueComparator();
+    public int getIssuesCount() {
+        return size;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > fileIds.length) {
+            int newCapacity = Math.max(capacity, fileIds.length * 2);
+            fileIds = Arrays.copyOf(fileIds, newCapacity);
+            startLines = Arrays.copyOf(startLines, newCapacity);
+            startLineOffsets = Arrays.copyOf(startLineOffsets, newCapacity);
+            endLines = Arrays.copyOf(endLines, newCapacity);
+            endLineOffsets = Arrays.copyOf(endLineOffsets, newCapacity);
+            sortedRows = Arrays.copyOf(sortedRows, newCapacity);
+        }
+    }
+
+    private int compareRows(int row1, int row2) {
+        int compare = files.getFileName(fileIds[row1]).compareTo(files.getFileName(fileIds[row2]));
+        if (compare != 0) {
+            return compare;
+        }
+        compare = Integer.compare(toSortValue(startLines[row1]), toSortValue(startLines[row2]));
+        if (compare != 0) {
+            return compare;
+        }
+        return Integer.compare(toSortValue(startLineOffsets[row1]), toSortValue(startLineOffsets[row2]));
+    }
 
-    public void addIssue(DefaultClientIssue issue, String ruleName) {
-        nodeInstancies.put(issue, new SonarLintAnalyserIssueNode(issue, ruleName));
-        List<Issue> keySet = new ArrayList<>(nodeInstancies.keySet());
-        Collections.sort(keySet, issueComparator);
-        setKeys(keySet);
+    private static int toValue(Integer value) {
+        return value == null ? NO_VALUE : value;
+    }
+
+    private static Integer fromValue(int value) {
+        return value == NO_VALUE ? null : value;
+    }
+
+    private static int toSortValue(int value) {
+        return value == NO_VALUE ? 0 : value;
     }
 
     @Override
-    protected Node[] createNodes(Issue issue) {
+    protected Node[] createNodes(Integer row) {
         return new Node[] {
-            nodeInstancies.get(issue)
+            new SonarLintAnalyserIssueNode(
+                files,
+                fileIds[row],
+                fromValue(startLines[row]),
+                fromValue(startLineOffsets[row]),
+                fromValue(endLines[row]),
+                fromValue(endLineOffsets[row]),
+                severity,
+                type,
+                ruleName
+            )
         };
     }
+
+    /**
+     * Keys of children without copy of sorted index
+     */
+    private static final class SortedRows extends AbstractList<Integer> {
+
+        private final int[] rows;
+        private final int size;
+
+        private SortedRows(int[] rows, int size) {
+            this.rows = rows;
+            this.size = size;
+        }
+
+        @Override
+        public Integer get(int index) {
+            return rows[index];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
 }
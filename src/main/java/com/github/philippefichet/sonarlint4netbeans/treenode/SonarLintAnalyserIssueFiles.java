@@ -0,0 +1,120 @@
+/*
+ * sonarlint4netbeans: SonarLint integration for Apache Netbeans
+ * Copyright (C) 2023 Philippe FICHET.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package com.github.philippefichet.sonarlint4netbeans.treenode;
+
+import com.github.philippefichet.sonarlint4netbeans.SonarLintDataManager;
+import java.awt.Image;
+import java.lang.ref.Reference;
+import java.lang.ref.SoftReference;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import org.openide.util.Utilities;
+import org.sonarsource.sonarlint.core.analysis.api.ClientInputFile;
+
+/**
+ * Files of issues of an analysis, each file is stored once and identified by an index
+ * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
+ */
+final class SonarLintAnalyserIssueFiles {
+
+    static final int UNKNOWN_FILE = -1;
+    private final Map<URI, Integer> idByURI = new HashMap<>();
+    private final List<URI> uris = new ArrayList<>();
+    private final List<String> relativePaths = new ArrayList<>();
+    private final List<String> fileNames = new ArrayList<>();
+    // Icon by extension (or by name of files without extension) and icon type, used for all files of an extension.
+    // Released by memory pressure, the map only keeps one key by extension
+    private static final Map<String, Reference<Image>> ICON_BY_EXTENSION = new ConcurrentHashMap<>();
+
+    /**
+     * Retrieve index of file of an issue
+     * @param inputFile file of issue, can be null
+     * @return index of file or {@link #UNKNOWN_FILE}
+     */
+    synchronized int toId(ClientInputFile inputFile) {
+        if (inputFile == null) {
+            return UNKNOWN_FILE;
+        }
+        URI uri = inputFile.uri();
+        Integer id = idByURI.get(uri);
+        if (id == null) {
+            id = uris.size();
+            idByURI.put(uri, id);
+            uris.add(uri);
+            relativePaths.add(inputFile.relativePath());
+            String path = uri.getPath();
+            fileNames.add(path.substring(path.lastIndexOf('/') + 1));
+        }
+        return id;
+    }
+
+    synchronized URI getURI(int id) {
+        return id == UNKNOWN_FILE ? null : uris.get(id);
+    }
+
+    synchronized String getRelativePath(int id) {
+        return id == UNKNOWN_FILE ? null : relativePaths.get(id);
+    }
+
+    /**
+     * Retrieve icon of a file, resolved once by extension
+     * @param id index of file
+     * @param type icon type constant from {@link java.beans.BeanInfo}
+     * @param sonarLintDataManager data manager resolving icon of a file
+     * @return icon of file or empty if icon cannot be resolved
+     */
+    Optional<Image> getIcon(int id, int type, SonarLintDataManager sonarLintDataManager) {
+        if (id == UNKNOWN_FILE) {
+            return Optional.empty();
+        }
+        String fileName;
+        URI uri;
+        synchronized (this) {
+            fileName = fileNames.get(id);
+            uri = uris.get(id);
+        }
+        int extensionIndex = fileName.lastIndexOf('.');
+        String iconKey = (extensionIndex < 0 ? "/" + fileName : fileName.substring(extensionIndex + 1)) + ":" + type;
+        Reference<Image> iconReference = ICON_BY_EXTENSION.get(iconKey);
+        Image icon = iconReference == null ? null : iconReference.get();
+        if (icon == null) {
+            icon = sonarLintDataManager.getIcon(Utilities.toFile(uri), type).orElse(null);
+            if (icon == null) {
+                return Optional.empty();
+            }
+            ICON_BY_EXTENSION.put(iconKey, new SoftReference<>(icon));
+        }
+        return Optional.of(icon);
+    }
+
+    /**
+     * Name of file used to sort issues
+     * @param id index of file
+     * @return name of file, empty if file is unknown
+     */
+    synchronized String getFileName(int id) {
+        return id == UNKNOWN_FILE ? "" : fileNames.get(id);
+    }
+}
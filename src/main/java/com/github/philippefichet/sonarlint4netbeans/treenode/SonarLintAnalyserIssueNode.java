@@ -22,75 +22,99 @@ package com.github.philippefichet.sonarlint4netbeans.treenode;
 import com.github.philippefichet.sonarlint4netbeans.SonarLintAnalyzerOpenIssueInFileAction;
 import com.github.philippefichet.sonarlint4netbeans.SonarLintDataManager;
 import java.awt.Image;
-import java.io.File;
+import java.net.URI;
 import java.util.Optional;
 import javax.swing.Action;
 import org.openide.nodes.AbstractNode;
 import org.openide.nodes.Children;
 import org.openide.nodes.Sheet;
 import org.openide.util.Lookup;
-import org.openide.util.Utilities;
 import org.openide.util.actions.SystemAction;
-import org.sonarsource.sonarlint.core.analysis.api.ClientInputFile;
-import org.sonarsource.sonarlint.core.client.api.common.analysis.DefaultClientIssue;
+import org.sonarsource.sonarlint.core.commons.RuleType;
 
 /**
  *
  * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
  */
 public class SonarLintAnalyserIssueNode extends AbstractNode {
-    private final DefaultClientIssue issue;
-    private final Sheet.Set ruleNamePropertySet = new Sheet.Set();
-    private final Sheet.Set locationPropertySet = new Sheet.Set();
-    private final Sheet.Set typePropertySet = new Sheet.Set();
-    private final Sheet.Set severityPropertySet = new Sheet.Set();
-    private final PropertySet[] propertySets = new PropertySet[] {
-        locationPropertySet,
-        typePropertySet,
-        severityPropertySet,
-        ruleNamePropertySet
-    };
-    private final File file;
+    private final SonarLintAnalyserIssueFiles files;
+    private final int fileId;
+    private final URI fileURI;
+    private final Integer startLine;
+    private final Integer startLineOffset;
+    private final Integer endLine;
+    private final Integer endLineOffset;
+    private final String severity;
+    private final RuleType type;
+    private final String ruleName;
+    // Created when properties are displayed
+    private PropertySet[] propertySets;
     private final SonarLintDataManager sonarLintDataManager;
 
-    public SonarLintAnalyserIssueNode(DefaultClientIssue issue, String ruleName) {
+    SonarLintAnalyserIssueNode(
+        SonarLintAnalyserIssueFiles files,
+        int fileId,
+        Integer startLine,
+        Integer startLineOffset,
+        Integer endLine,
+        Integer endLineOffset,
+        String severity,
+        RuleType type,
+        String ruleName
+    ) {
         super(Children.LEAF);
-        this.issue = issue;
+        this.files = files;
+        this.fileId = fileId;
+        this.fileURI = files.getURI(fileId);
+        this.startLine = startLine;
+        this.startLineOffset = startLineOffset;
+        this.endLine = endLine;
+        this.endLineOffset = endLineOffset;
+        this.severity = severity;
+        this.type = type;
+        this.ruleName = ruleName;
         sonarLintDataManager = Lookup.getDefault().lookup(SonarLintDataManager.class);
-        ClientInputFile inputFile = issue.getInputFile();
-        Integer startLine = issue.getStartLine();
-        Integer startLineOffset = issue.getStartLineOffset();
         String prefixDisplayName = ": ";
         if (startLine != null && startLineOffset != null) {
             prefixDisplayName = startLine + ":" + startLineOffset + ": ";
         }
-        if (inputFile != null) {
-            setDisplayName(prefixDisplayName + inputFile.relativePath());
-            file = Utilities.toFile(inputFile.uri());
+        if (fileURI != null) {
+            setDisplayName(prefixDisplayName + files.getRelativePath(fileId));
         } else {
             setDisplayName(prefixDisplayName + "Unkown file");
-            file = null;
         }
-        ruleNamePropertySet.setName(RuleNameProperty.NAME);
-        ruleNamePropertySet.setDisplayName(RuleNameProperty.DISPLAY_NAME);
-        ruleNamePropertySet.setShortDescription(RuleNameProperty.DISPLAY_NAME);
-        ruleNamePropertySet.put(new RuleNameProperty(ruleName));
-        locationPropertySet.setName(LocationProperty.NAME);
-        locationPropertySet.setDisplayName(LocationProperty.DISPLAY_NAME);
-        locationPropertySet.setShortDescription(LocationProperty.DISPLAY_NAME);
-        locationPropertySet.put(new LocationProperty(issue));
-        typePropertySet.setName(TypeProperty.NAME);
-        typePropertySet.setDisplayName(TypeProperty.DISPLAY_NAME);
-        typePropertySet.setShortDescription(TypeProperty.DISPLAY_NAME);
-        typePropertySet.put(new TypeProperty(issue));
-        severityPropertySet.setName(SeverityProperty.NAME);
-        severityPropertySet.setDisplayName(SeverityProperty.DISPLAY_NAME);
-        severityPropertySet.setShortDescription(SeverityProperty.DISPLAY_NAME);
-        severityPropertySet.put(new SeverityProperty(issue.getSeverity().name()));
     }
 
     @Override
-    public PropertySet[] getPropertySets() {
+    public synchronized PropertySet[] getPropertySets() {
+        if (propertySets == null) {
+            Sheet.Set ruleNamePropertySet = new Sheet.Set();
+            Sheet.Set locationPropertySet = new Sheet.Set();
+            Sheet.Set typePropertySet = new Sheet.Set();
+            Sheet.Set severityPropertySet = new Sheet.Set();
+            ruleNamePropertySet.setName(RuleNameProperty.NAME);
+            ruleNamePropertySet.setDisplayName(RuleNameProperty.DISPLAY_NAME);
+            ruleNamePropertySet.setShortDescription(RuleNameProperty.DISPLAY_NAME);
+            ruleNamePropertySet.put(new RuleNameProperty(ruleName));
+            locationPropertySet.setName(LocationProperty.NAME);
+            locationPropertySet.setDisplayName(LocationProperty.DISPLAY_NAME);
+            locationPropertySet.setShortDescription(LocationProperty.DISPLAY_NAME);
+            locationPropertySet.put(new LocationProperty(startLine, startLineOffset, endLine, endLineOffset));
+            typePropertySet.setName(TypeProperty.NAME);
+            typePropertySet.setDisplayName(TypeProperty.DISPLAY_NAME);
+            typePropertySet.setShortDescription(TypeProperty.DISPLAY_NAME);
+            typePropertySet.put(new TypeProperty(type));
+            severityPropertySet.setName(SeverityProperty.NAME);
+            severityPropertySet.setDisplayName(SeverityProperty.DISPLAY_NAME);
+            severityPropertySet.setShortDescription(SeverityProperty.DISPLAY_NAME);
+            severityPropertySet.put(new SeverityProperty(severity));
+            propertySets = new PropertySet[] {
+                locationPropertySet,
+                typePropertySet,
+                severityPropertySet,
+                ruleNamePropertySet
+            };
+        }
         return propertySets;
     }
 
@@ -106,17 +130,29 @@ public class SonarLintAnalyserIssueNode extends AbstractNode {
         return SystemAction.get(SonarLintAnalyzerOpenIssueInFileAction.class);
     }
 
-    public DefaultClientIssue getIssue() {
-        return issue;
+    /**
+     * File of issue
+     * @return URI of file of issue or null if file is unknown
+     */
+    public URI getFileURI() {
+        return fileURI;
+    }
+
+    public Integer getStartLine() {
+        return startLine;
+    }
+
+    public Integer getStartLineOffset() {
+        return startLineOffset;
     }
 
     @Override
     public Image getIcon(int type) {
-        Optional<Image> icon = sonarLintDataManager.getIcon(file, type);
+        Optional<Image> icon = files.getIcon(fileId, type, sonarLintDataManager);
         if (icon.isPresent()) {
             return icon.get();
         } else {
             return super.getIcon(type);
         }
     }
-}
\ No newline at end of file
+}
@@ -20,12 +20,14 @@
 package com.github.philippefichet.sonarlint4netbeans.treenode;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import org.openide.nodes.Children;
 import org.openide.nodes.Node;
-import org.sonarsource.sonarlint.core.client.api.common.analysis.DefaultClientIssue;
 import org.sonarsource.sonarlint.core.client.api.common.analysis.Issue;
 import org.sonarsource.sonarlint.core.commons.IssueSeverity;
 
@@ -36,16 +38,33 @@ import org.sonarsource.sonarlint.core.commons.IssueSeverity;
 public class SonarLintAnalyserIssueSeverityChildren extends Children.Keys<String> {
 
     private final java.util.Map<String, SonarLintAnalyserIssueSeverityNode> nodeInstancies = new HashMap<>();
+    // Files of issues shared by all nodes of tree
+    private final SonarLintAnalyserIssueFiles files = new SonarLintAnalyserIssueFiles();
     private int issueCount = 0;
 
     public void addIssue(Issue issue, String ruleName) {
-        if (issue instanceof DefaultClientIssue) {
-            issueCount++;
-            nodeInstancies.computeIfAbsent(issue.getSeverity().name(), SonarLintAnalyserIssueSeverityNode::new)
-                .addIssue((DefaultClientIssue)issue, ruleName);
-            setKeys(orderKeysBySeverity(nodeInstancies.keySet()));
+        if (issue != null) {
+            addIssues(Collections.singletonList(issue), Collections.singletonMap(issue.getRuleKey(), ruleName));
         }
     }
+
+    /**
+     * Add issues with one refresh of children
+     * @param issues issues to add
+     * @param ruleNameByRuleKey name of rules of issues by rule key
+     */
+    public void addIssues(List<Issue> issues, Map<String, String> ruleNameByRuleKey) {
+        Map<String, List<Issue>> issuesBySeverity = new LinkedHashMap<>();
+        for (Issue issue : issues) {
+            issuesBySeverity.computeIfAbsent(issue.getSeverity().name(), k -> new ArrayList<>()).add(issue);
+        }
+        issuesBySeverity.forEach((String severity, List<Issue> issuesOfSeverity) ->
+            nodeInstancies.computeIfAbsent(severity, k -> new SonarLintAnalyserIssueSeverityNode(files, k))
+                .addIssues(issuesOfSeverity, ruleNameByRuleKey)
+        );
+        issueCount += issues.size();
+        setKeys(orderKeysBySeverity(nodeInstancies.keySet()));
+    }
     
     private static List<String> orderKeysBySeverity(Set<String> keySet)
     {
@@ -19,10 +19,13 @@
  */
 package com.github.philippefichet.sonarlint4netbeans.treenode;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import javax.swing.Action;
 import org.openide.nodes.AbstractNode;
 import org.openide.nodes.Sheet;
-import org.sonarsource.sonarlint.core.client.api.common.analysis.DefaultClientIssue;
+import org.sonarsource.sonarlint.core.client.api.common.analysis.Issue;
 
 /**
  *
@@ -38,8 +41,8 @@ public class SonarLintAnalyserIssueSeverityNode extends AbstractNode {
         severityPropertySet,
     };
 
-    public SonarLintAnalyserIssueSeverityNode(String severity) {
-        super(new SonarLintAnalyserIssueSeverityRuleKeyChildren());
+    SonarLintAnalyserIssueSeverityNode(SonarLintAnalyserIssueFiles files, String severity) {
+        super(new SonarLintAnalyserIssueSeverityRuleKeyChildren(files));
         this.severity = severity.toLowerCase();
         children = (SonarLintAnalyserIssueSeverityRuleKeyChildren)getChildren();
         severityPropertySet.setName("severity");
@@ -58,9 +61,18 @@ public class SonarLintAnalyserIssueSeverityNode extends AbstractNode {
         }
     }
 
-    public void addIssue(DefaultClientIssue issue, String ruleName) {
-        children.addIssue(issue, ruleName);
-        flatChildCount++;
+    public void addIssue(Issue issue, String ruleName) {
+        addIssues(Collections.singletonList(issue), Collections.singletonMap(issue.getRuleKey(), ruleName));
+    }
+
+    /**
+     * Add issues of this severity
+     * @param issues issues of this severity
+     * @param ruleNameByRuleKey name of rules of issues by rule key
+     */
+    public void addIssues(List<Issue> issues, Map<String, String> ruleNameByRuleKey) {
+        children.addIssues(issues, ruleNameByRuleKey);
+        flatChildCount += issues.size();
         updateDisplayName();
     }
 
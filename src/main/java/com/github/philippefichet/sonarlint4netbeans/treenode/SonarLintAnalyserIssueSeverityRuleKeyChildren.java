@@ -22,9 +22,12 @@ package com.github.philippefichet.sonarlint4netbeans.treenode;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import org.openide.nodes.Children;
 import org.openide.nodes.Node;
-import org.sonarsource.sonarlint.core.client.api.common.analysis.DefaultClientIssue;
+import org.sonarsource.sonarlint.core.client.api.common.analysis.Issue;
 
 /**
  *
@@ -33,11 +36,31 @@ import org.sonarsource.sonarlint.core.client.api.common.analysis.DefaultClientIs
 public class SonarLintAnalyserIssueSeverityRuleKeyChildren extends Children.Keys<String> {
 
     private final java.util.Map<String, SonarLintAnalyserIssueSeverityRuleKeyNode> nodeInstancies = new HashMap<>();
+    private final SonarLintAnalyserIssueFiles files;
 
-    public void addIssue(DefaultClientIssue issue, String ruleName) {
-        String ruleKey = issue.getRuleKey();
-        nodeInstancies.computeIfAbsent(ruleKey, k -> new SonarLintAnalyserIssueSeverityRuleKeyNode(issue, ruleName))
-            .addIssue(issue, ruleName);
+    SonarLintAnalyserIssueSeverityRuleKeyChildren(SonarLintAnalyserIssueFiles files) {
+        this.files = files;
+    }
+
+    public void addIssue(Issue issue, String ruleName) {
+        addIssues(Collections.singletonList(issue), Collections.singletonMap(issue.getRuleKey(), ruleName));
+    }
+
+    /**
+     * Add issues with one refresh of children
+     * @param issues issues of the same severity
+     * @param ruleNameByRuleKey name of rules of issues by rule key
+     */
+    public void addIssues(List<Issue> issues, Map<String, String> ruleNameByRuleKey) {
+        Map<String, List<Issue>> issuesByRuleKey = new LinkedHashMap<>();
+        for (Issue issue : issues) {
+            issuesByRuleKey.computeIfAbsent(issue.getRuleKey(), k -> new ArrayList<>()).add(issue);
+        }
+        issuesByRuleKey.forEach((String ruleKey, List<Issue> issuesOfRule) -> {
+            String ruleName = ruleNameByRuleKey.get(ruleKey);
+            nodeInstancies.computeIfAbsent(ruleKey, k -> new SonarLintAnalyserIssueSeverityRuleKeyNode(files, issuesOfRule.get(0), ruleName))
+                .addIssues(issuesOfRule);
+        });
         ArrayList<String> keys = new ArrayList<>(nodeInstancies.keySet());
         Collections.sort(keys);
         setKeys(keys);
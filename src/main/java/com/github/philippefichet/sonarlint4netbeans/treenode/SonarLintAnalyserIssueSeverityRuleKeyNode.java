@@ -20,10 +20,12 @@
 package com.github.philippefichet.sonarlint4netbeans.treenode;
 
 import com.github.philippefichet.sonarlint4netbeans.SonarLintUtils;
+import java.util.Collections;
+import java.util.List;
 import javax.swing.Action;
 import org.openide.nodes.AbstractNode;
 import org.openide.nodes.Sheet;
-import org.sonarsource.sonarlint.core.client.api.common.analysis.DefaultClientIssue;
+import org.sonarsource.sonarlint.core.client.api.common.analysis.Issue;
 import org.sonarsource.sonarlint.core.commons.RuleType;
 
 /**
@@ -46,8 +48,8 @@ public class SonarLintAnalyserIssueSeverityRuleKeyNode extends AbstractNode {
     };
     private int flatChildCount = 0;
     
-    public SonarLintAnalyserIssueSeverityRuleKeyNode(DefaultClientIssue issue, String ruleName) {
-        super(new SonarLintAnalyserIssueChildren());
+    SonarLintAnalyserIssueSeverityRuleKeyNode(SonarLintAnalyserIssueFiles files, Issue issue, String ruleName) {
+        super(new SonarLintAnalyserIssueChildren(files, ruleName, issue.getSeverity().name(), issue.getType()));
         children = (SonarLintAnalyserIssueChildren)getChildren();
         this.ruleKey = issue.getRuleKey();
         this.ruleName = ruleName;
@@ -74,9 +76,17 @@ public class SonarLintAnalyserIssueSeverityRuleKeyNode extends AbstractNode {
         setDisplayName(ruleKey + " : " + ruleName + " (" + flatChildCount + ")");
     }
 
-    public void addIssue(DefaultClientIssue issue, String ruleName) {
-        children.addIssue(issue, ruleName);
-        flatChildCount++;
+    public void addIssue(Issue issue) {
+        addIssues(Collections.singletonList(issue));
+    }
+
+    /**
+     * Add issues of this rule
+     * @param issues issues of this rule
+     */
+    public void addIssues(List<Issue> issues) {
+        children.addIssues(issues);
+        flatChildCount += issues.size();
         updateDisplayName();
     }
 
@@ -20,13 +20,14 @@
 package com.github.philippefichet.sonarlint4netbeans.treenode;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import javax.swing.Action;
 import javax.swing.event.TreeModelEvent;
 import javax.swing.event.TreeModelListener;
 import javax.swing.tree.TreePath;
 import org.openide.nodes.AbstractNode;
-import org.sonarsource.sonarlint.core.client.api.common.analysis.DefaultClientIssue;
 import org.sonarsource.sonarlint.core.client.api.common.analysis.Issue;
 
 /**
@@ -68,9 +69,20 @@ public class SonarLintAnalyzerRootNode extends AbstractNode {
     }
 
     public void handle(Issue issue, String ruleName) {
-        if (issue instanceof DefaultClientIssue) {
-            flatChildCount++;
-            children.addIssue(issue, ruleName);
+        if (issue != null) {
+            handle(Collections.singletonList(issue), Collections.singletonMap(issue.getRuleKey(), ruleName));
+        }
+    }
+
+    /**
+     * Add issues to tree with one refresh of each level and one event
+     * @param issues issues to add
+     * @param ruleNameByRuleKey name of rules of issues by rule key
+     */
+    public void handle(List<Issue> issues, Map<String, String> ruleNameByRuleKey) {
+        if (!issues.isEmpty()) {
+            flatChildCount += issues.size();
+            children.addIssues(issues, ruleNameByRuleKey);
             updateStartingTitle();
             for (TreeModelListener listener : listeners) {
                 listener.treeNodesInserted(new TreeModelEvent(this, (TreePath)null));
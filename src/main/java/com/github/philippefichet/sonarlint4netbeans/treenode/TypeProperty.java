@@ -21,7 +21,8 @@ package com.github.philippefichet.sonarlint4netbeans.treenode;
 
 import java.lang.reflect.InvocationTargetException;
 import org.openide.nodes.PropertySupport;
-import org.sonarsource.sonarlint.core.client.api.common.analysis.DefaultClientIssue;
+import org.sonarsource.sonarlint.core.client.api.common.analysis.Issue;
+import org.sonarsource.sonarlint.core.commons.RuleType;
 
 /**
  *
@@ -32,9 +33,13 @@ public final class TypeProperty extends PropertySupport.ReadOnly<String> {
     public static final String DISPLAY_NAME = "Type";
 
     private final String value;
-    public TypeProperty(DefaultClientIssue issue) {
+    public TypeProperty(Issue issue) {
+        this(issue.getType());
+    }
+
+    public TypeProperty(RuleType type) {
         super(NAME, String.class, DISPLAY_NAME, DISPLAY_NAME);
-        value = issue.getType().name();
+        value = type.name();
     }
 
     @Override
@@ -21,8 +21,14 @@ package com.github.philippefichet.sonarlint4netbeans.ui;
 
 import com.github.philippefichet.sonarlint4netbeans.treenode.SonarLintAnalyzerRootNode;
 import java.awt.BorderLayout;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.swing.ActionMap;
 import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
 import org.netbeans.swing.etable.ETableColumnModel;
 import org.openide.explorer.ExplorerManager;
 import org.openide.explorer.ExplorerUtils;
@@ -44,6 +50,12 @@ public class SonarLintAnalyzerOutlineContainer extends JPanel implements Explore
     private static final String COLUMN_ID_TYPE = "Type";
     private static final String COLUMN_ID_SEVERITY = "Severity";
     private static final String COLUMN_ID_RULE_NAME = "Rule name";
+    private static final int FLUSH_DELAY = 200;
+    // Issues found by analysis waiting to be added to tree on event dispatch thread
+    private final Object pendingIssuesLock = new Object();
+    private List<Issue> pendingIssues = new ArrayList<>();
+    private final Map<String, String> ruleNameByRuleKey = new ConcurrentHashMap<>();
+    private final Timer flushTimer = new Timer(FLUSH_DELAY, e -> flushPendingIssues());
 
     public SonarLintAnalyzerOutlineContainer() {
         BorderLayout borderLayout = new BorderLayout();
@@ -85,11 +97,18 @@ public class SonarLintAnalyzerOutlineContainer extends JPanel implements Explore
     }
 
     public void starting() {
-        rootNode.starting();
+        SwingUtilities.invokeLater(() -> {
+            rootNode.starting();
+            flushTimer.start();
+        });
     }
 
     public void ending() {
-        rootNode.ending();
+        SwingUtilities.invokeLater(() -> {
+            flushTimer.stop();
+            flushPendingIssues();
+            rootNode.ending();
+        });
     }
 
     public ExplorerManager getExplorerManager() {
@@ -101,8 +120,30 @@ public class SonarLintAnalyzerOutlineContainer extends JPanel implements Explore
         return lookup;
     }
 
+    /**
+     * Add an issue to tree with next issues found in the same period, can be called outside of event dispatch thread
+     * @param issue issue found
+     * @param ruleName name of rule of issue
+     */
     public void handle(Issue issue, String ruleName) {
-        rootNode.handle(issue, ruleName);
+        if (issue != null) {
+            ruleNameByRuleKey.putIfAbsent(issue.getRuleKey(), ruleName);
+            synchronized (pendingIssuesLock) {
+                pendingIssues.add(issue);
+            }
+        }
+    }
+
+    private void flushPendingIssues() {
+        List<Issue> issues;
+        synchronized (pendingIssuesLock) {
+            if (pendingIssues.isEmpty()) {
+                return;
+            }
+            issues = pendingIssues;
+            pendingIssues = new ArrayList<>();
+        }
+        rootNode.handle(issues, ruleNameByRuleKey);
     }
 
     // It is good idea to switch all listeners on and off when the
@@ -21,8 +21,9 @@ package com.github.philippefichet.sonarlint4netbeans.ui;
 
 import com.github.philippefichet.sonarlint4netbeans.SonarLintAnalyzersTableModel;
 import com.github.philippefichet.sonarlint4netbeans.SonarLintEngine;
-import java.util.Collection;
-import org.sonarsource.sonarlint.core.client.api.common.PluginDetails;
+import java.awt.BorderLayout;
+import javax.swing.JLabel;
+import javax.swing.SwingUtilities;
 
 /**
  *
@@ -39,11 +40,15 @@ public class SonarLintOptionsPanelAnalyzers extends javax.swing.JPanel {
      * @param sonarLintEngine instance of SonarLintEngine used to retrieve information from plugin
      */
     public SonarLintOptionsPanelAnalyzers(SonarLintEngine sonarLintEngine) {
-        sonarLintEngine.whenInitialized(engine -> {
-            Collection<PluginDetails> loadedAnalyzers = engine.getPluginDetails();
-            loadedAnalyzers.forEach(analyzerDefaultTableModel::addPluginDetails);
-        });
         initComponents();
+        sonarLintEngine.whenRulesAvailable(
+            engine -> engine.getAnalyzerDetails().forEach(analyzerDefaultTableModel::addAnalyzerDetails),
+            error -> SwingUtilities.invokeLater(() -> {
+                add(new JLabel("SonarLint engine initialization failed: " + error.getMessage()), BorderLayout.NORTH);
+                revalidate();
+                repaint();
+            })
+        );
     }
 
     /**
@@ -30,6 +30,7 @@ import javax.swing.BoxLayout;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JProgressBar;
+import javax.swing.SwingUtilities;
 import javax.swing.event.ListSelectionEvent;
 import org.netbeans.api.project.Project;
 import org.openide.util.Lookup;
@@ -48,6 +49,8 @@ public final class SonarLintPanel extends javax.swing.JPanel {
     private Version nodeJSVersionToSave;
     private Boolean applyDifferentRulesOnTestFiles = null;
     private final AtomicBoolean showLoadingPanel = new AtomicBoolean(true);
+    // Error of last engine initialization, rules and analyzers cannot be listed
+    private volatile Throwable engineError;
 
     private final SonarLintRuleTableModel rulesDefaultTableModel = new SonarLintRuleTableModel();
 
@@ -81,12 +84,13 @@ public final class SonarLintPanel extends javax.swing.JPanel {
                 showPanelFromCategory(sonarLintEngine, categoriesList.getSelectedValue());
             }
         });
-        sonarLintEngine.whenInitialized(this::whenInitialized);
+        sonarLintEngine.whenRulesAvailable(this::whenRulesAvailable, error -> whenRulesUnavailable(sonarLintEngine, error));
     }
 
-    private void whenInitialized(SonarLintEngine engine)
+    private void whenRulesAvailable(SonarLintEngine engine)
     {
         engine.whenRestarted(this::whenRestarted);
+        engineError = null;
         showLoadingPanel.set(false);
         String category = categoriesList.getSelectedValue();
         if (category == null) {
@@ -94,10 +98,47 @@ public final class SonarLintPanel extends javax.swing.JPanel {
             category = categoriesList.getSelectedValue();
         }
         showPanelFromCategory(engine, category);
+        if (!engine.getInitializedEngine().isDone()) {
+            // Rules of previous start are shown, refresh with rules of engine or with error of engine
+            engine.getInitializedEngine().whenComplete((initializedEngine, error) -> {
+                if (error != null) {
+                    engineError = error;
+                }
+                SwingUtilities.invokeLater(() -> whenInitialized(engine));
+            });
+        }
+    }
+
+    private void whenRulesUnavailable(SonarLintEngine engine, Throwable error)
+    {
+        // Plugins can be changed to restart engine
+        engine.whenRestarted(this::whenRestarted);
+        engineError = error;
+        SwingUtilities.invokeLater(() -> {
+            showLoadingPanel.set(false);
+            String category = categoriesList.getSelectedValue();
+            if (category == null) {
+                categoriesList.setSelectedIndex(0);
+                category = categoriesList.getSelectedValue();
+            }
+            showPanelFromCategory(engine, category);
+        });
+    }
+
+    private void whenInitialized(SonarLintEngine engine)
+    {
+        if (!showLoadingPanel.get()) {
+            showPanelFromCategory(engine, categoriesList.getSelectedValue());
+        }
     }
 
     private void showPanelFromCategory(SonarLintEngine engine, String category)
     {
+        Throwable error = engineError;
+        if (error != null && ("Rules".equals(category) || "Analyzers".equals(category))) {
+            showEngineErrorPanel(error);
+            return;
+        }
         if ("Rules".equals(category)) {
             initRulesPanel(engine);
         }
@@ -119,11 +160,18 @@ public final class SonarLintPanel extends javax.swing.JPanel {
 
     private void whenRestarted(SonarLintEngine engine)
     {
-        engine.whenInitialized(this::whenInitialized);
+        engine.whenRulesAvailable(this::whenRulesAvailable, error -> whenRulesUnavailable(engine, error));
         showLoadingPanel.set(true);
         showLoadingPanel();
     }
 
+    private void showEngineErrorPanel(Throwable error) {
+        optionPanel.removeAll();
+        optionPanel.add(new JLabel("SonarLint engine initialization failed: " + error.getMessage()), BorderLayout.NORTH);
+        optionPanel.revalidate();
+        optionPanel.repaint();
+    }
+
     private void showLoadingPanel() {
         JPanel loadingPanel = new JPanel();
         loadingPanel.setLayout(new BoxLayout(loadingPanel, BoxLayout.PAGE_AXIS));
@@ -42,6 +42,7 @@ import javax.swing.JSeparator;
 import javax.swing.JTable;
 import javax.swing.JTextField;
 import javax.swing.ListSelectionModel;
+import javax.swing.SwingUtilities;
 import javax.swing.table.TableColumnModel;
 import org.netbeans.api.project.Project;
 import org.openide.util.Lookup;
@@ -69,20 +70,36 @@ public class SonarLintRuleListPanel extends javax.swing.JPanel {
         Project project
     ) {
         initComponents();
-        sonarLintEngine.whenInitialized(
-            engine ->
-            rulesDefaultTableModel.addTableModelListener(e -> {
-                int column = e.getColumn();
-                if (column == 0) {
-                    int firstRow = e.getFirstRow();
-                    RuleKey ruleKey = RuleKey.parse(
-                        rulesDefaultTableModel.getRuleKeyValueAt(firstRow).toString()
-                    );
-                    Object valueAt = rulesDefaultTableModel.getValueAt(firstRow, column);
-                    sonarLintRuleListPanelListener.ruleChanged(ruleKey, (Boolean) valueAt);
-                }
+        // Rules are listed once available, engine can still be starting
+        sonarLintEngine.whenRulesAvailable(
+            engine -> SwingUtilities.invokeLater(
+                () -> initRules(sonarLintRuleListPanelListener, sonarLintRuleSettingsListener, sonarLintEngine, project)
+            ),
+            error -> SwingUtilities.invokeLater(() -> {
+                add(new JLabel("SonarLint engine initialization failed: " + error.getMessage()), BorderLayout.NORTH);
+                revalidate();
+                repaint();
             })
         );
+    }
+
+    private void initRules(
+        SonarLintRuleListPanelListener sonarLintRuleListPanelListener,
+        SonarLintRuleSettingsListener sonarLintRuleSettingsListener,
+        SonarLintEngine sonarLintEngine,
+        Project project
+    ) {
+        rulesDefaultTableModel.addTableModelListener(e -> {
+            int column = e.getColumn();
+            if (column == 0) {
+                int firstRow = e.getFirstRow();
+                RuleKey ruleKey = RuleKey.parse(
+                    rulesDefaultTableModel.getRuleKeyValueAt(firstRow).toString()
+                );
+                Object valueAt = rulesDefaultTableModel.getValueAt(firstRow, column);
+                sonarLintRuleListPanelListener.ruleChanged(ruleKey, (Boolean) valueAt);
+            }
+        });
 
         JPanel languageKeyContainer = new JPanel(new FlowLayout());
         JButton resetSelectedRule = new JButton("Restore to default");
@@ -90,9 +107,7 @@ public class SonarLintRuleListPanel extends javax.swing.JPanel {
         JTextField rulesFilter = new JTextField();
         rulesFilter.setColumns(20);
         JComboBox<String> comboLanguageKey = new JComboBox<>();
-        sonarLintEngine.getAllRuleDetails().stream()
-            .map(r -> r.getLanguage().getLanguageKey())
-            .distinct()
+        sonarLintEngine.getRuleCatalog().getLanguageKeys()
             .forEach(comboLanguageKey::addItem);
         rulesFilter.addKeyListener(new KeyAdapter() {
             @Override
@@ -106,8 +121,9 @@ public class SonarLintRuleListPanel extends javax.swing.JPanel {
         );
         resetSelectedRule.addActionListener(
             e -> {
-            sonarLintEngine.getAllRuleDetails().stream()
-            .filter(rule -> rule.getLanguage().getLanguageKey().equals((String)comboLanguageKey.getSelectedItem()))
+            sonarLintEngine.getRuleCatalog().query()
+            .language((String)comboLanguageKey.getSelectedItem())
+            .list()
             .forEach(rule -> {
                 RuleKey ruleKey = RuleKey.parse(rule.getKey());
                 if (rule.isActiveByDefault()) {
@@ -167,6 +183,8 @@ public class SonarLintRuleListPanel extends javax.swing.JPanel {
         northContainer.add(rulesTable.getTableHeader());
         add(northContainer, BorderLayout.NORTH);
         add(rulesTable, BorderLayout.CENTER);
+        revalidate();
+        repaint();
     }
 
     /**
@@ -20,9 +20,8 @@
 package com.github.philippefichet.sonarlint4netbeans.ui;
 
 import com.github.philippefichet.sonarlint4netbeans.SonarLintEngine;
-import com.github.philippefichet.sonarlint4netbeans.SonarLintUtils;
-import java.util.Collection;
-import java.util.stream.Collectors;
+import java.util.List;
+import java.util.Map;
 import javax.swing.table.DefaultTableModel;
 import org.netbeans.api.project.Project;
 import org.sonarsource.sonarlint.core.client.api.standalone.StandaloneRuleDetails;
@@ -52,24 +51,20 @@ public class SonarLintRuleTableModel extends DefaultTableModel {
     }
 
     public void setRules(SonarLintEngine engine, String languagekey, String ruleFilter, Project project) {
-        while(getRowCount() > 0) {
-            removeRow(0);
-        }
-        Collection<StandaloneRuleDetails> allRuleDetails = engine.getAllRuleDetails();
-        allRuleDetails.stream()
-        .filter(
-            SonarLintUtils.FilterBy.languageKey(languagekey)
-            .and(SonarLintUtils.FilterBy.keyAndName(ruleFilter))
-        )
-        .sorted((r1, r2) -> 
-            r1.getKey().compareTo(r2.getKey())
-        ).map(ruleDetail -> new Object[] {
-            !engine.isExcluded(ruleDetail, project),
+        setRowCount(0);
+        List<StandaloneRuleDetails> ruleDetails = engine.getRuleCatalog().query()
+            .language(languagekey)
+            .text(ruleFilter)
+            .list();
+        Map<String, Boolean> excludedByRuleKey = engine.areExcluded(ruleDetails, project);
+        ruleDetails.stream()
+        .map(ruleDetail -> new Object[] {
+            !excludedByRuleKey.get(ruleDetail.getKey()),
             hasParams(ruleDetail),
             ruleDetail.getKey(),
             ruleDetail.getDefaultSeverity().name(),
             ruleDetail.getName()}
-        ).collect(Collectors.toList()).forEach(this::addRow);
+        ).forEach(this::addRow);
     }
 
     private boolean hasParams(StandaloneRuleDetails ruleDetail) {
@@ -27,9 +27,9 @@ import com.github.philippefichet.sonarlint4netbeans.ui.renderer.SonarLintListCel
 import java.awt.Desktop;
 import java.io.IOException;
 import java.net.URISyntaxException;
-import java.util.Collection;
 import java.util.Optional;
 import javax.swing.DefaultListModel;
+import javax.swing.SwingUtilities;
 import javax.swing.event.HyperlinkEvent;
 import javax.swing.event.HyperlinkListener;
 import javax.swing.text.Document;
@@ -203,14 +203,21 @@ public class SonarRuleDetailsPanel extends javax.swing.JPanel {
     }//GEN-LAST:event_sonarRuleKeyFilterKeyReleased
     
     private void initListAllRuleDetails() {
-        sonarLintEngine.whenInitialized((SonarLintEngine engine) -> {
+        sonarLintEngine.whenRulesAvailable((SonarLintEngine engine) -> {
             DefaultListModel<String> model = new DefaultListModel<>();
-            Collection<StandaloneRuleDetails> rules = engine.getAllRuleDetails();
-            rules.stream().sorted((r1, r2) -> r1.getKey().compareTo(r2.getKey()))
-            .filter(SonarLintUtils.FilterBy.keyAndName(ruleKeyFilter))
+            engine.getRuleCatalog().query()
+            .text(ruleKeyFilter)
+            .list()
             .forEach(rule -> model.addElement(rule.getKey()));
             sonarLintAllRules.setModel(model);
             sonarLintAllRules.updateUI();
+        }, this::showEngineError);
+    }
+
+    private void showEngineError(Throwable error) {
+        SwingUtilities.invokeLater(() -> {
+            sonarLintRuleDetailsEditor.setText("SonarLint engine initialization failed: " + error.getMessage());
+            sonarLintRuleDetailsEditorHtmlSource.setText("");
         });
     }
 
@@ -228,7 +235,7 @@ public class SonarRuleDetailsPanel extends javax.swing.JPanel {
     private void sonarLintAllRulesValueChanged(javax.swing.event.ListSelectionEvent evt) {//GEN-FIRST:event_sonarLintAllRulesValueChanged
         String selectedValue = sonarLintAllRules.getSelectedValue();
         SonarLintOptions sonarLintOptions = Lookup.getDefault().lookup(SonarLintOptions.class);
-        sonarLintEngine.whenInitialized((SonarLintEngine engine) -> {
+        sonarLintEngine.whenRulesAvailable((SonarLintEngine engine) -> {
             Optional<StandaloneRuleDetails> optionalRuleDetails = engine.getRuleDetails(selectedValue);
             if (optionalRuleDetails.isPresent()) {
                 StandaloneRuleDetails ruleDetails = optionalRuleDetails.get();
@@ -241,7 +248,7 @@ public class SonarRuleDetailsPanel extends javax.swing.JPanel {
                 sonarLintRuleDetailsEditorHtmlSource.setText(html);
                 sonarLintRuleDetailsEditor.getCaret().moveDot(0);
             }
-        });
+        }, this::showEngineError);
     }//GEN-LAST:event_sonarLintAllRulesValueChanged
 
     private String ruleKeyFilter = "";
@@ -0,0 +1,160 @@
+/*
+ * sonarlint4netbeans: SonarLint integration for Apache Netbeans
+ * Copyright (C) 2023 Philippe FICHET.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package com.github.philippefichet.sonarlint4netbeans;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.sonarsource.sonarlint.core.commons.progress.CanceledException;
+import org.sonarsource.sonarlint.core.commons.progress.ClientProgressMonitor;
+
+/**
+ *
+ * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
+ */
+class SonarLintAnalysisExecutorTest {
+
+    private final ExecutorService threads = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void shutdownThreads() {
+        threads.shutdownNow();
+    }
+
+    @Test
+    void backgroundAnalysesKeepPlacesForTaskListAndEditor() throws Exception {
+        SonarLintAnalysisExecutor executor = new SonarLintAnalysisExecutor(4);
+        CountDownLatch releaseBackground = new CountDownLatch(1);
+        CompletableFuture<Void> firstBackground = startRunning(executor, SonarLintAnalysisExecutor.Priority.BACKGROUND, releaseBackground);
+        CompletableFuture<Void> secondBackground = startRunning(executor, SonarLintAnalysisExecutor.Priority.BACKGROUND, releaseBackground);
+        AtomicBoolean thirdBackgroundStarted = new AtomicBoolean(false);
+        CompletableFuture<Void> thirdBackground = CompletableFuture.runAsync(
+            () -> executor.execute(SonarLintAnalysisExecutor.Priority.BACKGROUND, null, () -> {
+                thirdBackgroundStarted.set(true);
+                return null;
+            }),
+            threads
+        );
+
+        // 2 of 4 places are used, the 2 others are kept for task list and editor
+        CountDownLatch releaseTaskList = new CountDownLatch(1);
+        CompletableFuture<Void> taskList = startRunning(executor, SonarLintAnalysisExecutor.Priority.TASK_LIST, releaseTaskList);
+        Assertions.assertThat(executor.execute(SonarLintAnalysisExecutor.Priority.EDITOR, null, () -> "editor"))
+            .isEqualTo("editor");
+        Assertions.assertThat(thirdBackgroundStarted).isFalse();
+
+        releaseTaskList.countDown();
+        taskList.get(5, TimeUnit.SECONDS);
+        // Place of task list is kept even if no task list analysis is running
+        Assertions.assertThat(thirdBackgroundStarted).isFalse();
+        releaseBackground.countDown();
+        firstBackground.get(5, TimeUnit.SECONDS);
+        secondBackground.get(5, TimeUnit.SECONDS);
+        thirdBackground.get(5, TimeUnit.SECONDS);
+        Assertions.assertThat(thirdBackgroundStarted).isTrue();
+    }
+
+    @Test
+    void taskListAnalysesKeepPlaceForEditor() throws Exception {
+        SonarLintAnalysisExecutor executor = new SonarLintAnalysisExecutor(3);
+        CountDownLatch releaseTaskList = new CountDownLatch(1);
+        CompletableFuture<Void> firstTaskList = startRunning(executor, SonarLintAnalysisExecutor.Priority.TASK_LIST, releaseTaskList);
+        CompletableFuture<Void> secondTaskList = startRunning(executor, SonarLintAnalysisExecutor.Priority.TASK_LIST, releaseTaskList);
+        AtomicBoolean thirdTaskListStarted = new AtomicBoolean(false);
+        CompletableFuture<Void> thirdTaskList = CompletableFuture.runAsync(
+            () -> executor.execute(SonarLintAnalysisExecutor.Priority.TASK_LIST, null, () -> {
+                thirdTaskListStarted.set(true);
+                return null;
+            }),
+            threads
+        );
+
+        // 2 of 3 places are used, the last one is kept for editor
+        Assertions.assertThat(executor.execute(SonarLintAnalysisExecutor.Priority.EDITOR, null, () -> "editor"))
+            .isEqualTo("editor");
+        Assertions.assertThat(thirdTaskListStarted).isFalse();
+
+        releaseTaskList.countDown();
+        firstTaskList.get(5, TimeUnit.SECONDS);
+        secondTaskList.get(5, TimeUnit.SECONDS);
+        thirdTaskList.get(5, TimeUnit.SECONDS);
+        Assertions.assertThat(thirdTaskListStarted).isTrue();
+    }
+
+    @Test
+    void waitingAnalysisCanceled() throws Exception {
+        SonarLintAnalysisExecutor executor = new SonarLintAnalysisExecutor(3);
+        CountDownLatch releaseBackground = new CountDownLatch(1);
+        CompletableFuture<Void> background = startRunning(executor, SonarLintAnalysisExecutor.Priority.BACKGROUND, releaseBackground);
+        ClientProgressMonitor canceledMonitor = Mockito.mock(ClientProgressMonitor.class);
+        Mockito.when(canceledMonitor.isCanceled()).thenReturn(true);
+
+        Assertions.assertThatThrownBy(
+            () -> executor.execute(SonarLintAnalysisExecutor.Priority.BACKGROUND, canceledMonitor, () -> "background")
+        ).isInstanceOf(CanceledException.class);
+
+        releaseBackground.countDown();
+        background.get(5, TimeUnit.SECONDS);
+        Assertions.assertThat(executor.execute(SonarLintAnalysisExecutor.Priority.BACKGROUND, null, () -> "background"))
+            .isEqualTo("background");
+    }
+
+    @Test
+    void atLeastOnePlaceByPriority() {
+        Assertions.assertThatThrownBy(() -> new SonarLintAnalysisExecutor(2))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Start an analysis in another thread and wait until it runs
+     * @param executor executor admitting analysis
+     * @param priority priority of analysis
+     * @param release latch ending analysis
+     * @return analysis running until latch is released
+     */
+    private CompletableFuture<Void> startRunning(SonarLintAnalysisExecutor executor, SonarLintAnalysisExecutor.Priority priority, CountDownLatch release) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<Void> analysis = CompletableFuture.runAsync(
+            () -> executor.execute(priority, null, () -> {
+                started.countDown();
+                await(release);
+                return null;
+            }),
+            threads
+        );
+        Assertions.assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        return analysis;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * sonarlint4netbeans: SonarLint integration for Apache Netbeans
+ * Copyright (C) 2023 Philippe FICHET.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package com.github.philippefichet.sonarlint4netbeans;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.openide.filesystems.FileObject;
+import org.openide.filesystems.FileUtil;
+import org.sonarsource.sonarlint.core.commons.progress.CanceledException;
+import org.sonarsource.sonarlint.core.commons.progress.ClientProgressMonitor;
+
+/**
+ *
+ * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
+ */
+class SonarLintEditorAnalysisSchedulerTest {
+
+    private static final int QUIET_PERIOD = 200;
+    private static final int REVALIDATION_DELAY = 100;
+    private final SonarLintEngine sonarLintEngine = Mockito.mock(SonarLintEngine.class);
+    private final List<String> analyzedTexts = Collections.synchronizedList(new ArrayList<>());
+    private final Semaphore analyzed = new Semaphore(0);
+
+    @Test
+    void editsDuringQuietPeriodAnalyzedOnce() throws Exception {
+        FileObject fileObject = createFile();
+        SonarLintEditorAnalysisScheduler scheduler = createScheduler(false, (String text, ClientProgressMonitor monitor) -> {});
+        for (int i = 1; i <= 5; i++) {
+            scheduler.schedule(sonarLintEngine, fileObject, "content " + i);
+        }
+
+        Assertions.assertThat(analyzed.tryAcquire(10, TimeUnit.SECONDS)).isTrue();
+        // No other analysis after quiet period
+        Assertions.assertThat(analyzed.tryAcquire(QUIET_PERIOD * 3L, TimeUnit.MILLISECONDS)).isFalse();
+        Assertions.assertThat(analyzedTexts).containsExactly("content 5");
+    }
+
+    @Test
+    void supersededAnalysisCanceled() throws Exception {
+        FileObject fileObject = createFile();
+        CountDownLatch firstAnalysisRunning = new CountDownLatch(1);
+        List<String> canceledTexts = Collections.synchronizedList(new ArrayList<>());
+        SonarLintEditorAnalysisScheduler scheduler = createScheduler(false, (String text, ClientProgressMonitor monitor) -> {
+            if ("first".equals(text)) {
+                firstAnalysisRunning.countDown();
+                long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+                while (!monitor.isCanceled() && System.nanoTime() < end) {
+                    Thread.sleep(10);
+                }
+                if (monitor.isCanceled()) {
+                    canceledTexts.add(text);
+                    throw new CanceledException();
+                }
+            }
+        });
+        scheduler.schedule(sonarLintEngine, fileObject, "first");
+        Assertions.assertThat(firstAnalysisRunning.await(10, TimeUnit.SECONDS)).isTrue();
+        scheduler.schedule(sonarLintEngine, fileObject, "second");
+
+        Assertions.assertThat(analyzed.tryAcquire(2, 10, TimeUnit.SECONDS)).isTrue();
+        Assertions.assertThat(canceledTexts).containsExactly("first");
+        Assertions.assertThat(analyzedTexts).containsExactly("first", "second");
+    }
+
+    @Test
+    void rejectedAnalysisScheduledAgain() throws Exception {
+        FileObject fileObject = createFile();
+        SonarLintEditorAnalysisScheduler scheduler = createScheduler(false, (String text, ClientProgressMonitor monitor) -> {
+            if (analyzedTexts.size() == 1) {
+                throw new RejectedExecutionException("Too many analyses");
+            }
+        });
+        scheduler.schedule(sonarLintEngine, fileObject, "content");
+
+        Assertions.assertThat(analyzed.tryAcquire(2, 10, TimeUnit.SECONDS)).isTrue();
+        Assertions.assertThat(analyzedTexts).containsExactly("content", "content");
+    }
+
+    @Test
+    void storedIssuesShownThenAnalyzedAgain() throws Exception {
+        FileObject fileObject = createFile();
+        SonarLintEditorAnalysisScheduler scheduler = createScheduler(true, (String text, ClientProgressMonitor monitor) -> {});
+        scheduler.schedule(sonarLintEngine, fileObject, "content");
+
+        // Analysis after revalidation delay only, stored issues are shown first
+        Assertions.assertThat(analyzed.tryAcquire(10, TimeUnit.SECONDS)).isTrue();
+        Assertions.assertThat(analyzedTexts).containsExactly("content");
+    }
+
+    private SonarLintEditorAnalysisScheduler createScheduler(boolean storedIssues, Analysis analysis) {
+        return new SonarLintEditorAnalysisScheduler(
+            new SonarLintEditorAnalysisScheduler.FileAnalyzer() {
+                @Override
+                public boolean showStoredIssues(SonarLintEngine sonarLintEngine, FileObject fileObject, String textToAnalyze) {
+                    return storedIssues;
+                }
+
+                @Override
+                public void analyze(SonarLintEngine sonarLintEngine, FileObject fileObject, String textToAnalyze, ClientProgressMonitor monitor) throws IOException {
+                    analyzedTexts.add(textToAnalyze);
+                    try {
+                        analysis.analyze(textToAnalyze, monitor);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        throw new CanceledException();
+                    } finally {
+                        analyzed.release();
+                    }
+                }
+            },
+            () -> QUIET_PERIOD,
+            REVALIDATION_DELAY
+        );
+    }
+
+    private static FileObject createFile() throws IOException {
+        return FileUtil.createMemoryFileSystem().getRoot().createData("NewClass.java");
+    }
+
+    @FunctionalInterface
+    private interface Analysis {
+        void analyze(String textToAnalyze, ClientProgressMonitor monitor) throws InterruptedException;
+    }
+}
@@ -21,6 +21,7 @@ package com.github.philippefichet.sonarlint4netbeans;
 
 import com.github.philippefichet.sonarlint4netbeans.project.SonarLintProjectPreferenceScope;
 import java.net.MalformedURLException;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Optional;
 import java.util.prefs.BackingStoreException;
@@ -33,6 +34,8 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.Mockito;
 import org.netbeans.api.project.Project;
 import org.netbeans.spi.project.ProjectManagerImplementation;
+import org.sonarsource.sonarlint.core.client.api.standalone.StandaloneRuleDetails;
+import org.sonarsource.sonarlint.core.commons.RuleKey;
 
 /**
  *
@@ -87,6 +90,64 @@ public class SonarLintEngineImplTest {
             .isNotPresent();
     }
 
+    @Test
+    public void areExcluded()
+    {
+        SonarLintEngineImpl sonarLintEngine = new SonarLintEngineImpl();
+        sonarLintEngine.waitingInitialization();
+        StandaloneRuleDetails excludedRule = sonarLintEngine.getRuleDetails("java:S100").get();
+        StandaloneRuleDetails includedRule = sonarLintEngine.getRuleDetails("java:S107").get();
+        sonarLintEngine.excludeRuleKey(RuleKey.parse(excludedRule.getKey()), mockedProjectWithProjectScope);
+        sonarLintEngine.includeRuleKey(RuleKey.parse(includedRule.getKey()), mockedProjectWithProjectScope);
+        Assertions.assertThat(sonarLintEngine.areExcluded(Arrays.asList(excludedRule, includedRule), mockedProjectWithProjectScope))
+            .containsEntry(excludedRule.getKey(), Boolean.TRUE)
+            .containsEntry(includedRule.getKey(), Boolean.FALSE);
+        Assertions.assertThat(sonarLintEngine.isExcluded(excludedRule, mockedProjectWithProjectScope))
+            .isTrue();
+        // Exclusions are read again after a change
+        sonarLintEngine.includeRuleKey(RuleKey.parse(excludedRule.getKey()), mockedProjectWithProjectScope);
+        Assertions.assertThat(sonarLintEngine.isExcluded(excludedRule, mockedProjectWithProjectScope))
+            .isFalse();
+    }
+
+    @Test
+    public void stoppedEngineNotUsed()
+    {
+        SonarLintEngineImpl sonarLintEngine = new SonarLintEngineImpl();
+        sonarLintEngine.waitingInitialization();
+        sonarLintEngine.stop();
+        Assertions.assertThatThrownBy(sonarLintEngine::getAllRuleDetails)
+            .isInstanceOf(IllegalStateException.class);
+        Assertions.assertThatThrownBy(() -> sonarLintEngine.getRuleConfiguration(SonarLintEngine.GLOBAL_SETTINGS_PROJECT))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void getRuleMetadata()
+    {
+        String ruleKey = "java:S107";
+        SonarLintEngineImpl sonarLintEngine = new SonarLintEngineImpl();
+        sonarLintEngine.waitingInitialization();
+        sonarLintEngine.setRuleParameter(ruleKey, "max", "5", mockedProjectWithProjectScope);
+        SonarLintRuleMetadata ruleMetadata = sonarLintEngine.getRuleMetadata(ruleKey, mockedProjectWithProjectScope).get();
+        Assertions.assertThat(ruleMetadata.getName())
+            .isEqualTo(sonarLintEngine.getRuleDetails(ruleKey).get().getName());
+        Assertions.assertThat(ruleMetadata.getParameters().values())
+            .containsExactly("5");
+        Assertions.assertThat(ruleMetadata.getShortDescription())
+            .contains(ruleKey)
+            .contains("(value: 5,");
+        // Metadata is built once
+        Assertions.assertThat(sonarLintEngine.getRuleMetadata(ruleKey, mockedProjectWithProjectScope).get())
+            .isSameAs(ruleMetadata);
+        // Metadata is built again after a change
+        sonarLintEngine.setRuleParameter(ruleKey, "max", "6", mockedProjectWithProjectScope);
+        Assertions.assertThat(sonarLintEngine.getRuleMetadata(ruleKey, mockedProjectWithProjectScope).get().getParameters().values())
+            .containsExactly("6");
+        Assertions.assertThat(sonarLintEngine.getRuleMetadata("java:unknown", mockedProjectWithProjectScope))
+            .isNotPresent();
+    }
+
     public static Arguments[] getMergedExtraProperties()
     {
         return new Arguments[] {
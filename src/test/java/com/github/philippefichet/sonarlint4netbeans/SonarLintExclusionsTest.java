@@ -0,0 +1,75 @@
+/*
+ * sonarlint4netbeans: SonarLint integration for Apache Netbeans
+ * Copyright (C) 2023 Philippe FICHET.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package com.github.philippefichet.sonarlint4netbeans;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
+ */
+class SonarLintExclusionsTest {
+
+    private final Path baseDirectory = Paths.get("./src/test/resources").toAbsolutePath();
+
+    @Test
+    void toPatterns() {
+        Assertions.assertThat(SonarLintExclusions.toPatterns(" **/vendor/** , ,regex:.*\\.min\\.js"))
+            .containsExactly("**/vendor/**", "regex:.*\\.min\\.js");
+        Assertions.assertThat(SonarLintExclusions.toPatterns(null)).isEmpty();
+        Assertions.assertThat(SonarLintExclusions.toPatterns("  ")).isEmpty();
+    }
+
+    @Test
+    void globRelativeToBaseDirectory() {
+        SonarLintExclusions exclusions = new SonarLintExclusions(baseDirectory, Arrays.asList("generated/**", "*.xml"));
+        Assertions.assertThat(exclusions.isExcluded(baseDirectory.resolve("generated/NewClass.java"))).isTrue();
+        Assertions.assertThat(exclusions.isExcluded(baseDirectory.resolve("pom.xml"))).isTrue();
+        Assertions.assertThat(exclusions.isExcluded(baseDirectory.resolve("NewClass.java"))).isFalse();
+        Assertions.assertThat(exclusions.isExcluded(baseDirectory.resolve("src/pom.xml"))).isFalse();
+    }
+
+    @Test
+    void globOnAbsolutePath() {
+        SonarLintExclusions exclusions = new SonarLintExclusions(null, Collections.singletonList("**/vendor/**"));
+        Assertions.assertThat(exclusions.isExcluded(baseDirectory.resolve("vendor/lib.js"))).isTrue();
+        Assertions.assertThat(exclusions.isExcluded(baseDirectory.resolve("lib.js"))).isFalse();
+    }
+
+    @Test
+    void regex() {
+        SonarLintExclusions exclusions = new SonarLintExclusions(baseDirectory, Collections.singletonList("regex:.*\\.min\\.js"));
+        Assertions.assertThat(exclusions.isExcluded(baseDirectory.resolve("app.min.js"))).isTrue();
+        Assertions.assertThat(exclusions.isExcluded(baseDirectory.resolve("app.js"))).isFalse();
+    }
+
+    @Test
+    void invalidPatternIgnored() {
+        SonarLintExclusions exclusions = new SonarLintExclusions(baseDirectory, Arrays.asList("regex:[", "*.js"));
+        Assertions.assertThat(exclusions.isEmpty()).isFalse();
+        Assertions.assertThat(exclusions.isExcluded(baseDirectory.resolve("app.js"))).isTrue();
+        Assertions.assertThat(SonarLintExclusions.NONE.isExcluded(baseDirectory.resolve("app.js"))).isFalse();
+    }
+}
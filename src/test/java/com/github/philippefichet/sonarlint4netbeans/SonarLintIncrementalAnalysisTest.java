@@ -0,0 +1,111 @@
+/*
+ * sonarlint4netbeans: SonarLint integration for Apache Netbeans
+ * Copyright (C) 2023 Philippe FICHET.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package com.github.philippefichet.sonarlint4netbeans;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.sonarsource.sonarlint.core.client.api.common.analysis.Issue;
+import org.sonarsource.sonarlint.core.commons.IssueSeverity;
+import org.sonarsource.sonarlint.core.commons.RuleType;
+
+/**
+ *
+ * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
+ */
+class SonarLintIncrementalAnalysisTest {
+
+    @TempDir
+    Path temporaryDirectory;
+
+    @Test
+    void onlyChangedFilesAreAnalyzed() throws IOException {
+        SonarLintEngine sonarLintEngine = Mockito.mock(SonarLintEngine.class);
+        Mockito.when(sonarLintEngine.getRuleConfiguration(ArgumentMatchers.any()))
+            .thenReturn(new RuleConfigurationSnapshot(Collections.emptyList(), Collections.emptyList(), Collections.emptyMap(), Collections.emptyMap()));
+        SonarLintDataManager dataManager = new SonarLintDataManagerMockedBuilder().build();
+        Path storeDirectory = temporaryDirectory.resolve("store");
+        Path unchanged = Files.write(temporaryDirectory.resolve("Unchanged.java"), "class Unchanged {}".getBytes(StandardCharsets.UTF_8));
+        Path touched = Files.write(temporaryDirectory.resolve("Touched.java"), "class Touched {}".getBytes(StandardCharsets.UTF_8));
+        Path changed = Files.write(temporaryDirectory.resolve("Changed.java"), "class Changed {}".getBytes(StandardCharsets.UTF_8));
+        List<File> files = new ArrayList<>();
+        files.add(unchanged.toFile());
+        files.add(touched.toFile());
+        files.add(changed.toFile());
+
+        SonarLintIncrementalAnalysis firstAnalysis = new SonarLintIncrementalAnalysis(sonarLintEngine, dataManager, storeDirectory);
+        Assertions.assertThat(firstAnalysis.filterChangedFiles(files, (file, issues) -> Assertions.fail("No previous analysis")))
+            .containsExactlyElementsOf(files);
+        Issue issue = Mockito.mock(Issue.class);
+        Mockito.when(issue.getSeverity()).thenReturn(IssueSeverity.MAJOR);
+        Mockito.when(issue.getType()).thenReturn(RuleType.CODE_SMELL);
+        Mockito.when(issue.getRuleKey()).thenReturn("java:S1186");
+        Mockito.when(issue.getMessage()).thenReturn("Add a nested comment explaining why this method is empty");
+        Mockito.when(issue.getStartLine()).thenReturn(1);
+        Mockito.when(issue.getStartLineOffset()).thenReturn(6);
+        Mockito.when(issue.getEndLine()).thenReturn(1);
+        Mockito.when(issue.getEndLineOffset()).thenReturn(15);
+        Mockito.when(issue.getInputFile()).thenReturn(new FSClientInputFile(unchanged, "Unchanged.java", false, StandardCharsets.UTF_8));
+        firstAnalysis.record(issue);
+        firstAnalysis.save(Collections.emptyList());
+
+        Files.setLastModifiedTime(touched, FileTime.fromMillis(Files.getLastModifiedTime(touched).toMillis() + 10_000));
+        Files.write(changed, "class Changed { }".getBytes(StandardCharsets.UTF_8));
+        List<Issue> restoredIssues = new ArrayList<>();
+        SonarLintIncrementalAnalysis secondAnalysis = new SonarLintIncrementalAnalysis(sonarLintEngine, dataManager, storeDirectory);
+        // Content hash of touched file is unknown before its first change
+        Assertions.assertThat(secondAnalysis.filterChangedFiles(files, (file, issues) -> restoredIssues.addAll(issues)))
+            .containsExactly(touched.toFile(), changed.toFile());
+        Assertions.assertThat(restoredIssues)
+            .extracting(DefaultIssueTestImpl::toTuple)
+            .containsExactly(
+                new DefaultIssueTestImpl.Builder()
+                    .severity(IssueSeverity.MAJOR)
+                    .type(RuleType.CODE_SMELL)
+                    .ruleKey("java:S1186")
+                    .startLine(1)
+                    .startLineOffset(6)
+                    .endLine(1)
+                    .endLineOffset(15)
+                    .buildTuple()
+            );
+        Assertions.assertThat(restoredIssues.get(0).getMessage())
+            .isEqualTo("Add a nested comment explaining why this method is empty");
+        Assertions.assertThat(restoredIssues.get(0).getInputFile().uri())
+            .isEqualTo(unchanged.toUri());
+        secondAnalysis.save(Collections.emptyList());
+
+        Files.setLastModifiedTime(touched, FileTime.fromMillis(Files.getLastModifiedTime(touched).toMillis() + 10_000));
+        SonarLintIncrementalAnalysis thirdAnalysis = new SonarLintIncrementalAnalysis(sonarLintEngine, dataManager, storeDirectory);
+        Assertions.assertThat(thirdAnalysis.filterChangedFiles(files, (file, issues) -> { }))
+            .isEmpty();
+    }
+}
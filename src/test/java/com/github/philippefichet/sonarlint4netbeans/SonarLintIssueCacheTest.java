@@ -0,0 +1,132 @@
+/*
+ * sonarlint4netbeans: SonarLint integration for Apache Netbeans
+ * Copyright (C) 2023 Philippe FICHET.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package com.github.philippefichet.sonarlint4netbeans;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.sonarsource.sonarlint.core.client.api.common.analysis.Issue;
+import org.sonarsource.sonarlint.core.commons.RuleKey;
+
+/**
+ *
+ * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
+ */
+class SonarLintIssueCacheTest {
+
+    private final Path path = Paths.get("./src/test/resources/NewClass.java");
+
+    @Test
+    void sameContentAndConfiguration() {
+        SonarLintIssueCache cache = new SonarLintIssueCache(10);
+        List<Issue> issues = Collections.singletonList(
+            new DefaultIssueTestImpl.Builder().ruleKey("java:S100").startLine(1).build()
+        );
+        cache.put(new SonarLintIssueCache.Key(path, "class A {}", "configuration"), issues);
+        Assertions.assertThat(cache.get(new SonarLintIssueCache.Key(path, "class A {}", "configuration")))
+            .contains(issues);
+        Assertions.assertThat(cache.get(new SonarLintIssueCache.Key(path, "class B {}", "configuration")))
+            .isEmpty();
+        Assertions.assertThat(cache.get(new SonarLintIssueCache.Key(path, "class A {}", "other configuration")))
+            .isEmpty();
+    }
+
+    @Test
+    void evictLeastRecentlyUsed() {
+        SonarLintIssueCache cache = new SonarLintIssueCache(2);
+        SonarLintIssueCache.Key first = new SonarLintIssueCache.Key(path, "1", "configuration");
+        SonarLintIssueCache.Key second = new SonarLintIssueCache.Key(path, "2", "configuration");
+        SonarLintIssueCache.Key third = new SonarLintIssueCache.Key(path, "3", "configuration");
+        cache.put(first, Collections.emptyList());
+        cache.put(second, Collections.emptyList());
+        // first become most recently used
+        Assertions.assertThat(cache.get(first)).isPresent();
+        cache.put(third, Collections.emptyList());
+        Assertions.assertThat(cache.size()).isEqualTo(2);
+        Assertions.assertThat(cache.get(first)).isPresent();
+        Assertions.assertThat(cache.get(second)).isEmpty();
+        Assertions.assertThat(cache.get(third)).isPresent();
+        cache.clear();
+        Assertions.assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void clearedOnEachRestartEvenIfInitializationFailed() {
+        SonarLintEngine sonarLintEngine = Mockito.mock(SonarLintEngine.class);
+        List<Consumer<SonarLintEngine>> restartedConsumers = new ArrayList<>();
+        Mockito.doAnswer(invocation -> restartedConsumers.add(invocation.getArgument(0)))
+            .when(sonarLintEngine).whenRestarted(ArgumentMatchers.any());
+        SonarLintIssueCache cache = new SonarLintIssueCache(10);
+        cache.watch(sonarLintEngine);
+        SonarLintIssueCache.Key key = new SonarLintIssueCache.Key(path, "class A {}", "configuration");
+        // Initialization never completes, as after a failure
+        for (int restart = 0; restart < 3; restart++) {
+            cache.put(key, Collections.emptyList());
+            Assertions.assertThat(restartedConsumers).hasSize(1);
+            List<Consumer<SonarLintEngine>> consumers = new ArrayList<>(restartedConsumers);
+            restartedConsumers.clear();
+            consumers.forEach(consumer -> consumer.accept(sonarLintEngine));
+            Assertions.assertThat(cache.size()).isZero();
+        }
+    }
+
+    @Test
+    void fingerprintIndependentOfOrder() {
+        Map<String, String> firstExtraProperties = new HashMap<>();
+        firstExtraProperties.put("a", "1");
+        firstExtraProperties.put("b", "2");
+        Map<String, String> secondExtraProperties = new HashMap<>();
+        secondExtraProperties.put("b", "2");
+        secondExtraProperties.put("a", "1");
+        String first = SonarLintIssueCache.fingerprint(
+            true,
+            Arrays.asList(RuleKey.parse("java:S100"), RuleKey.parse("java:S101")),
+            Collections.emptyList(),
+            Collections.emptyMap(),
+            firstExtraProperties
+        );
+        String second = SonarLintIssueCache.fingerprint(
+            true,
+            Arrays.asList(RuleKey.parse("java:S101"), RuleKey.parse("java:S100")),
+            Collections.emptyList(),
+            Collections.emptyMap(),
+            secondExtraProperties
+        );
+        String withoutTestRules = SonarLintIssueCache.fingerprint(
+            false,
+            Arrays.asList(RuleKey.parse("java:S101"), RuleKey.parse("java:S100")),
+            Collections.emptyList(),
+            Collections.emptyMap(),
+            secondExtraProperties
+        );
+        Assertions.assertThat(first).isEqualTo(second);
+        Assertions.assertThat(first).isNotEqualTo(withoutTestRules);
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * sonarlint4netbeans: SonarLint integration for Apache Netbeans
+ * Copyright (C) 2023 Philippe FICHET.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package com.github.philippefichet.sonarlint4netbeans;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.sonarsource.sonarlint.core.analysis.api.ClientInputFile;
+import org.sonarsource.sonarlint.core.client.api.common.analysis.Issue;
+import org.sonarsource.sonarlint.core.commons.IssueSeverity;
+import org.sonarsource.sonarlint.core.commons.RuleType;
+
+/**
+ *
+ * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
+ */
+class SonarLintIssueStoreTest {
+
+    @TempDir
+    Path temporaryDirectory;
+
+    @Test
+    void issuesRestoredByAnotherSession() throws IOException {
+        Path storeDirectory = temporaryDirectory.resolve("store");
+        Path file = Files.write(temporaryDirectory.resolve("NewClass.java"), "class NewClass {}".getBytes(StandardCharsets.UTF_8));
+        ClientInputFile inputFile = new FSClientInputFile(file, "NewClass.java", false, StandardCharsets.UTF_8);
+        SonarLintIssueCache.Key key = new SonarLintIssueCache.Key(file, "class NewClass {}", "configuration");
+        Issue issue = Mockito.mock(Issue.class);
+        Mockito.when(issue.getSeverity()).thenReturn(IssueSeverity.MINOR);
+        Mockito.when(issue.getType()).thenReturn(RuleType.CODE_SMELL);
+        Mockito.when(issue.getRuleKey()).thenReturn("java:S1118");
+        Mockito.when(issue.getStartLine()).thenReturn(1);
+        Mockito.when(issue.getStartLineOffset()).thenReturn(6);
+        Mockito.when(issue.getEndLine()).thenReturn(1);
+        Mockito.when(issue.getEndLineOffset()).thenReturn(14);
+
+        SonarLintIssueStore firstSession = new SonarLintIssueStore(storeDirectory);
+        firstSession.put("global", new SonarLintIssueCache.Key(file, "class OldClass {}", "configuration"), Collections.emptyList());
+        firstSession.put("global", key, Collections.singletonList(issue));
+        firstSession.flush();
+
+        SonarLintIssueStore secondSession = new SonarLintIssueStore(storeDirectory);
+        List<Issue> restoredIssues = secondSession.get("global", key, inputFile).get();
+        Assertions.assertThat(restoredIssues)
+            .extracting(DefaultIssueTestImpl::toTuple)
+            .containsExactly(
+                new DefaultIssueTestImpl.Builder()
+                    .severity(IssueSeverity.MINOR)
+                    .type(RuleType.CODE_SMELL)
+                    .ruleKey("java:S1118")
+                    .startLine(1)
+                    .startLineOffset(6)
+                    .endLine(1)
+                    .endLineOffset(14)
+                    .buildTuple()
+            );
+        Assertions.assertThat(restoredIssues.get(0).getInputFile()).isSameAs(inputFile);
+        Assertions.assertThat(secondSession.get("global", new SonarLintIssueCache.Key(file, "class OldClass {}", "configuration"), inputFile))
+            .isEmpty();
+        Assertions.assertThat(secondSession.get("global", new SonarLintIssueCache.Key(file, "class NewClass {}", "other configuration"), inputFile))
+            .isEmpty();
+        Assertions.assertThat(secondSession.getSameContent("global", file, "class NewClass {}", inputFile))
+            .hasValueSatisfying(issues -> Assertions.assertThat(issues).hasSize(1));
+        Assertions.assertThat(secondSession.getSameContent("global", file, "class OldClass {}", inputFile))
+            .isEmpty();
+    }
+
+    @Test
+    void logCompactedWhenTooManyLinesAppended() throws IOException {
+        Path storeDirectory = temporaryDirectory.resolve("store");
+        Path file = Files.write(temporaryDirectory.resolve("NewClass.java"), "class NewClass {}".getBytes(StandardCharsets.UTF_8));
+        SonarLintIssueStore store = new SonarLintIssueStore(storeDirectory);
+        for (int i = 0; i < 10; i++) {
+            store.put("global", new SonarLintIssueCache.Key(file, "class NewClass" + i + " {}", "configuration"), Collections.emptyList());
+            store.flush();
+        }
+
+        try (Stream<Path> storeFiles = Files.list(storeDirectory)) {
+            Path storeFile = storeFiles.filter(path -> path.toString().endsWith(".log")).findFirst().get();
+            // Header and at most two lines by file
+            Assertions.assertThat(Files.readAllLines(storeFile, StandardCharsets.UTF_8)).hasSizeLessThanOrEqualTo(3);
+        }
+        SonarLintIssueStore secondSession = new SonarLintIssueStore(storeDirectory);
+        Assertions.assertThat(secondSession.getSameContent("global", file, "class NewClass9 {}", null))
+            .hasValue(Collections.emptyList());
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * sonarlint4netbeans: SonarLint integration for Apache Netbeans
+ * Copyright (C) 2023 Philippe FICHET.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package com.github.philippefichet.sonarlint4netbeans;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.sonarsource.sonarlint.core.client.api.common.PluginDetails;
+import org.sonarsource.sonarlint.core.client.api.standalone.StandaloneRuleDetails;
+import org.sonarsource.sonarlint.core.commons.IssueSeverity;
+import org.sonarsource.sonarlint.core.commons.Language;
+import org.sonarsource.sonarlint.core.commons.RuleType;
+
+/**
+ *
+ * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
+ */
+class SonarLintMetadataStoreTest {
+
+    @TempDir
+    Path temporaryDirectory;
+
+    @Test
+    void metadataRestoredWithSamePlugins() throws IOException {
+        Path plugin = Files.write(temporaryDirectory.resolve("sonar-java-plugin.jar"), "java".getBytes(StandardCharsets.UTF_8));
+        Map<String, Path> plugins = Collections.singletonMap("java", plugin);
+        String fingerprint = SonarLintMetadataStore.fingerprint(plugins, "node");
+
+        PluginDetails pluginDetails = Mockito.mock(PluginDetails.class);
+        Mockito.when(pluginDetails.key()).thenReturn("java");
+        Mockito.when(pluginDetails.name()).thenReturn("Java Code Quality and Security");
+        Mockito.when(pluginDetails.version()).thenReturn("7.24.0.32100");
+        Mockito.when(pluginDetails.skipReason()).thenReturn(Optional.empty());
+        StandaloneRuleDetails ruleDetails = Mockito.mock(StandaloneRuleDetails.class);
+        Mockito.when(ruleDetails.getKey()).thenReturn("java:S100");
+        Mockito.when(ruleDetails.getName()).thenReturn("Method names should comply with a naming convention");
+        Mockito.when(ruleDetails.getHtmlDescription()).thenReturn("<p>Naming convention</p>");
+        Mockito.when(ruleDetails.getLanguage()).thenReturn(Language.JAVA);
+        Mockito.when(ruleDetails.getDefaultSeverity()).thenReturn(IssueSeverity.MINOR);
+        Mockito.when(ruleDetails.getType()).thenReturn(RuleType.CODE_SMELL);
+        Mockito.when(ruleDetails.isActiveByDefault()).thenReturn(true);
+        Mockito.when(ruleDetails.getTags()).thenReturn(new String[] {"convention"});
+
+        Path storeDirectory = temporaryDirectory.resolve("store");
+        new SonarLintMetadataStore(storeDirectory)
+            .save(fingerprint, Collections.singletonList(pluginDetails), Collections.singletonList(ruleDetails));
+
+        SonarLintMetadataStore.Metadata metadata = new SonarLintMetadataStore(storeDirectory).load(fingerprint).get();
+        Assertions.assertThat(metadata.getAnalyzers())
+            .extracting(
+                SonarLintAnalyzerDetails::getKey,
+                SonarLintAnalyzerDetails::getName,
+                SonarLintAnalyzerDetails::getVersion,
+                SonarLintAnalyzerDetails::getSkipReason
+            ).containsExactly(
+                Assertions.tuple("java", "Java Code Quality and Security", "7.24.0.32100", Optional.empty())
+            );
+        Assertions.assertThat(metadata.getRules())
+            .extracting(
+                StandaloneRuleDetails::getKey,
+                StandaloneRuleDetails::getName,
+                StandaloneRuleDetails::getHtmlDescription,
+                StandaloneRuleDetails::getLanguage,
+                StandaloneRuleDetails::getDefaultSeverity,
+                StandaloneRuleDetails::getType,
+                StandaloneRuleDetails::isActiveByDefault
+            ).containsExactly(
+                Assertions.tuple(
+                    "java:S100",
+                    "Method names should comply with a naming convention",
+                    "<p>Naming convention</p>",
+                    Language.JAVA,
+                    IssueSeverity.MINOR,
+                    RuleType.CODE_SMELL,
+                    true
+                )
+            );
+        Assertions.assertThat(metadata.getRules().get(0).getTags()).containsExactly("convention");
+        Assertions.assertThat(metadata.getRules().get(0).paramDetails()).isEmpty();
+        Assertions.assertThat(metadata.getRuleDetails("java:S100")).isPresent();
+        Assertions.assertThat(metadata.getRuleCatalog().query().text("naming").list()).hasSize(1);
+    }
+
+    @Test
+    void metadataIgnoredWithOtherPlugins() throws IOException {
+        Path plugin = Files.write(temporaryDirectory.resolve("sonar-java-plugin.jar"), "java".getBytes(StandardCharsets.UTF_8));
+        Map<String, Path> plugins = Collections.singletonMap("java", plugin);
+        String fingerprint = SonarLintMetadataStore.fingerprint(plugins, "node");
+        Path storeDirectory = temporaryDirectory.resolve("store");
+        new SonarLintMetadataStore(storeDirectory)
+            .save(fingerprint, Collections.emptyList(), Collections.emptyList());
+
+        Assertions.assertThat(SonarLintMetadataStore.fingerprint(plugins, "other node")).isNotEqualTo(fingerprint);
+        Files.write(plugin, "java updated".getBytes(StandardCharsets.UTF_8));
+        String updatedFingerprint = SonarLintMetadataStore.fingerprint(plugins, "node");
+        Assertions.assertThat(updatedFingerprint).isNotEqualTo(fingerprint);
+        Assertions.assertThat(new SonarLintMetadataStore(storeDirectory).load(updatedFingerprint)).isEmpty();
+        Assertions.assertThat(new SonarLintMetadataStore(storeDirectory).load(fingerprint)).isPresent();
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * sonarlint4netbeans: SonarLint integration for Apache Netbeans
+ * Copyright (C) 2023 Philippe FICHET.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package com.github.philippefichet.sonarlint4netbeans;
+
+import java.util.Arrays;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.sonarsource.sonarlint.core.client.api.standalone.StandaloneRuleDetails;
+import org.sonarsource.sonarlint.core.commons.IssueSeverity;
+import org.sonarsource.sonarlint.core.commons.Language;
+import org.sonarsource.sonarlint.core.commons.RuleType;
+
+/**
+ *
+ * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
+ */
+class SonarLintRuleCatalogTest {
+
+    private final StandaloneRuleDetails namingRule = mockRuleDetails(
+        "java:S100", "Method names should comply with a naming convention", Language.JAVA,
+        RuleType.CODE_SMELL, IssueSeverity.MINOR, "<p>Shared <b>naming</b> conventions</p>", "convention"
+    );
+    private final StandaloneRuleDetails exceptionRule = mockRuleDetails(
+        "java:S112", "Generic exceptions should never be thrown", Language.JAVA,
+        RuleType.CODE_SMELL, IssueSeverity.MAJOR, "<p>Use dedicated exception</p>", "cwe", "error-handling"
+    );
+    private final StandaloneRuleDetails xmlRule = mockRuleDetails(
+        "xml:S1134", "Track uses of \"FIXME\" tags", Language.XML,
+        RuleType.CODE_SMELL, IssueSeverity.MAJOR, "<p>FIXME tags are commonly used</p>", "cwe"
+    );
+    private final SonarLintRuleCatalog catalog = new SonarLintRuleCatalog(Arrays.asList(xmlRule, exceptionRule, namingRule));
+
+    private static StandaloneRuleDetails mockRuleDetails(
+        String key, String name, Language language, RuleType type, IssueSeverity severity, String htmlDescription, String... tags
+    ) {
+        StandaloneRuleDetails ruleDetails = Mockito.mock(StandaloneRuleDetails.class);
+        Mockito.when(ruleDetails.getKey()).thenReturn(key);
+        Mockito.when(ruleDetails.getName()).thenReturn(name);
+        Mockito.when(ruleDetails.getLanguage()).thenReturn(language);
+        Mockito.when(ruleDetails.getType()).thenReturn(type);
+        Mockito.when(ruleDetails.getDefaultSeverity()).thenReturn(severity);
+        Mockito.when(ruleDetails.getHtmlDescription()).thenReturn(htmlDescription);
+        Mockito.when(ruleDetails.getTags()).thenReturn(tags);
+        return ruleDetails;
+    }
+
+    @Test
+    void allRulesAndLanguagesSorted() {
+        Assertions.assertThat(catalog.getAllRules())
+            .containsExactly(namingRule, exceptionRule, xmlRule);
+        Assertions.assertThat(catalog.query().list())
+            .containsExactly(namingRule, exceptionRule, xmlRule);
+        Assertions.assertThat(catalog.getLanguageKeys())
+            .containsExactly("java", "xml");
+    }
+
+    @Test
+    void combinedCriteria() {
+        Assertions.assertThat(catalog.query().language("java").list())
+            .containsExactly(namingRule, exceptionRule);
+        Assertions.assertThat(catalog.query().language("php").list())
+            .isEmpty();
+        Assertions.assertThat(catalog.query().severity(IssueSeverity.MAJOR).tag("cwe").list())
+            .containsExactly(exceptionRule, xmlRule);
+        Assertions.assertThat(catalog.query().language("java").type(RuleType.CODE_SMELL).tag("cwe").list())
+            .containsExactly(exceptionRule);
+        Assertions.assertThat(catalog.query().type(RuleType.BUG).list())
+            .isEmpty();
+    }
+
+    @Test
+    void keyPrefix() {
+        Assertions.assertThat(catalog.query().keyPrefix("JAVA:S1").list())
+            .containsExactly(namingRule, exceptionRule);
+        Assertions.assertThat(catalog.query().keyPrefix("java:S11").list())
+            .containsExactly(exceptionRule);
+        Assertions.assertThat(catalog.query().keyPrefix("S1").list())
+            .isEmpty();
+    }
+
+    @Test
+    void textOnKeyAndName() {
+        Assertions.assertThat(catalog.query().text("").list())
+            .containsExactly(namingRule, exceptionRule, xmlRule);
+        Assertions.assertThat(catalog.query().text("S11").list())
+            .containsExactly(exceptionRule, xmlRule);
+        Assertions.assertThat(catalog.query().text("java:S100").list())
+            .containsExactly(namingRule);
+        Assertions.assertThat(catalog.query().text("should NAM").list())
+            .containsExactly(namingRule);
+        Assertions.assertThat(catalog.query().text("fixme").list())
+            .containsExactly(xmlRule);
+        // description is only searched in full text
+        Assertions.assertThat(catalog.query().text("dedicated").list())
+            .isEmpty();
+    }
+
+    @Test
+    void fullTextOnDescriptionWithoutHtml() {
+        Assertions.assertThat(catalog.query().fullText("dedicated exception").list())
+            .containsExactly(exceptionRule);
+        Assertions.assertThat(catalog.query().fullText("shared naming").list())
+            .containsExactly(namingRule);
+        Assertions.assertThat(catalog.query().fullText("commonly").language("java").list())
+            .isEmpty();
+        Assertions.assertThat(catalog.query().fullText("p").list())
+            .isEmpty();
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * sonarlint4netbeans: SonarLint integration for Apache Netbeans
+ * Copyright (C) 2023 Philippe FICHET.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package com.github.philippefichet.sonarlint4netbeans;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.openide.filesystems.FileObject;
+import org.openide.filesystems.FileUtil;
+
+/**
+ *
+ * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
+ */
+class SonarLintTaskScannerTest {
+
+    private final FileObject root = FileUtil.createMemoryFileSystem().getRoot();
+    private final List<List<FileObject>> analyzedBatches = Collections.synchronizedList(new ArrayList<>());
+    private final List<FileObject> refreshedFiles = Collections.synchronizedList(new ArrayList<>());
+    private final Semaphore refreshed = new Semaphore(0);
+
+    @Test
+    void filesScannedDuringWindowAnalyzedTogether() throws Exception {
+        List<FileObject> files = createFiles(5);
+        SonarLintTaskScanner scanner = createScanner(analyzedBatches::add, 1_000);
+        files.forEach(scanner::enqueue);
+        // Same file scanned again during window is analyzed once
+        scanner.enqueue(files.get(0));
+
+        Assertions.assertThat(refreshed.tryAcquire(files.size(), 10, TimeUnit.SECONDS)).isTrue();
+        Assertions.assertThat(analyzedBatches).containsExactly(files);
+        Assertions.assertThat(refreshedFiles).containsExactlyElementsOf(files);
+    }
+
+    @Test
+    void filesSplitByBatchSize() throws Exception {
+        List<FileObject> files = createFiles(SonarLintTaskScanner.BATCH_SIZE * 2 + 10);
+        CountDownLatch allEnqueued = new CountDownLatch(1);
+        SonarLintTaskScanner scanner = createScanner(
+            batch -> {
+                analyzedBatches.add(batch);
+                // First batch starts as soon as it is full, following files are enqueued during its analysis
+                awaitQuietly(allEnqueued);
+            },
+            1_000
+        );
+        files.forEach(scanner::enqueue);
+        allEnqueued.countDown();
+
+        Assertions.assertThat(refreshed.tryAcquire(files.size(), 10, TimeUnit.SECONDS)).isTrue();
+        Assertions.assertThat(analyzedBatches).hasSize(3);
+        Assertions.assertThat(analyzedBatches.get(0)).containsExactlyElementsOf(files.subList(0, SonarLintTaskScanner.BATCH_SIZE));
+        Assertions.assertThat(analyzedBatches.get(1)).containsExactlyElementsOf(files.subList(SonarLintTaskScanner.BATCH_SIZE, SonarLintTaskScanner.BATCH_SIZE * 2));
+        Assertions.assertThat(analyzedBatches.get(2)).containsExactlyElementsOf(files.subList(SonarLintTaskScanner.BATCH_SIZE * 2, files.size()));
+        Assertions.assertThat(refreshedFiles).containsExactlyElementsOf(files);
+    }
+
+    @Test
+    void filesOfFailedBatchRefreshed() throws Exception {
+        List<FileObject> files = createFiles(SonarLintTaskScanner.BATCH_SIZE + 1);
+        CountDownLatch allEnqueued = new CountDownLatch(1);
+        SonarLintTaskScanner scanner = createScanner(
+            batch -> {
+                analyzedBatches.add(batch);
+                if (analyzedBatches.size() == 1) {
+                    awaitQuietly(allEnqueued);
+                    throw new UnsupportedOperationException("analysis failure");
+                }
+            },
+            1_000
+        );
+        files.forEach(scanner::enqueue);
+        allEnqueued.countDown();
+
+        // Failure of first batch does not prevent analysis of next batch
+        Assertions.assertThat(refreshed.tryAcquire(files.size(), 10, TimeUnit.SECONDS)).isTrue();
+        Assertions.assertThat(analyzedBatches).hasSize(2);
+        Assertions.assertThat(refreshedFiles).containsExactlyElementsOf(files);
+
+        // Next scans are still analyzed by batch
+        FileObject nextFile = root.createData("Next.java");
+        scanner.enqueue(nextFile);
+        Assertions.assertThat(refreshed.tryAcquire(1, 10, TimeUnit.SECONDS)).isTrue();
+        Assertions.assertThat(analyzedBatches).hasSize(3);
+        Assertions.assertThat(analyzedBatches.get(2)).containsExactly(nextFile);
+    }
+
+    private SonarLintTaskScanner createScanner(Consumer<List<FileObject>> batchAnalyzer, int batchWindow) {
+        return new SonarLintTaskScanner("SonarLint", "SonarLint", batchAnalyzer, batchWindow) {
+            @Override
+            void refresh(FileObject fileObject) {
+                refreshedFiles.add(fileObject);
+                refreshed.release();
+            }
+        };
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private List<FileObject> createFiles(int count) throws IOException {
+        List<FileObject> files = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            files.add(root.createData("File" + i + ".java"));
+        }
+        return files;
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * sonarlint4netbeans: SonarLint integration for Apache Netbeans
+ * Copyright (C) 2023 Philippe FICHET.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package com.github.philippefichet.sonarlint4netbeans.annotation;
+
+import java.util.Collections;
+import java.util.Optional;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.DefaultStyledDocument;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
+ */
+class SonarLintAnnotationApplierTest {
+
+    @Test
+    void toLineStartOffsetsWithLineFeed() {
+        Assertions.assertThat(SonarLintAnnotationApplier.toLineStartOffsets("ab\ncd\n\nef"))
+            .containsExactly(0, 3, 6, 7);
+    }
+
+    @Test
+    void toLineStartOffsetsWithCarriageReturn() {
+        Assertions.assertThat(SonarLintAnnotationApplier.toLineStartOffsets("ab\rcd\r\ref"))
+            .containsExactly(0, 3, 6, 7);
+    }
+
+    @Test
+    void toLineStartOffsetsWithCarriageReturnLineFeed() {
+        Assertions.assertThat(SonarLintAnnotationApplier.toLineStartOffsets("ab\r\ncd\r\n\r\nef"))
+            .containsExactly(0, 4, 8, 10);
+    }
+
+    @Test
+    void toLineStartOffsetsWithMixedLineEndings() {
+        Assertions.assertThat(SonarLintAnnotationApplier.toLineStartOffsets("a\r\nb\nc\rd\r"))
+            .containsExactly(0, 3, 5, 7, 9);
+    }
+
+    @Test
+    void toLineStartOffsetsWithoutLine() {
+        Assertions.assertThat(SonarLintAnnotationApplier.toLineStartOffsets(""))
+            .containsExactly(0);
+        Assertions.assertThat(SonarLintAnnotationApplier.toLineStartOffsets("abc"))
+            .containsExactly(0);
+    }
+
+    @Test
+    void toLineStartOffsetsWithManyLines() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 40; i++) {
+            text.append("line\n");
+        }
+        int[] lineStartOffsets = SonarLintAnnotationApplier.toLineStartOffsets(text);
+        Assertions.assertThat(lineStartOffsets).hasSize(41);
+        for (int i = 0; i < lineStartOffsets.length; i++) {
+            Assertions.assertThat(lineStartOffsets[i]).isEqualTo(i * 5);
+        }
+    }
+
+    @Test
+    void toOffset() {
+        int[] lineStartOffsets = SonarLintAnnotationApplier.toLineStartOffsets("ab\r\ncd\nef");
+        Assertions.assertThat(SonarLintAnnotationApplier.toOffset(lineStartOffsets, 1, 0)).isEqualTo(0);
+        Assertions.assertThat(SonarLintAnnotationApplier.toOffset(lineStartOffsets, 1, 2)).isEqualTo(2);
+        Assertions.assertThat(SonarLintAnnotationApplier.toOffset(lineStartOffsets, 2, 1)).isEqualTo(5);
+        Assertions.assertThat(SonarLintAnnotationApplier.toOffset(lineStartOffsets, 3, 2)).isEqualTo(9);
+    }
+
+    @Test
+    void toOffsetClampLine() {
+        int[] lineStartOffsets = SonarLintAnnotationApplier.toLineStartOffsets("ab\ncd\nef");
+        // Line before first line is on first line
+        Assertions.assertThat(SonarLintAnnotationApplier.toOffset(lineStartOffsets, 0, 1)).isEqualTo(1);
+        Assertions.assertThat(SonarLintAnnotationApplier.toOffset(lineStartOffsets, -5, 1)).isEqualTo(1);
+        // Line after last line is on last line
+        Assertions.assertThat(SonarLintAnnotationApplier.toOffset(lineStartOffsets, 4, 1)).isEqualTo(7);
+        Assertions.assertThat(SonarLintAnnotationApplier.toOffset(lineStartOffsets, 100, 0)).isEqualTo(6);
+    }
+
+    @Test
+    void isText() throws BadLocationException {
+        DefaultStyledDocument document = new DefaultStyledDocument();
+        document.insertString(0, "ab\ncd", null);
+        Assertions.assertThat(SonarLintAnnotationApplier.isText(document, "ab\ncd")).isTrue();
+        Assertions.assertThat(SonarLintAnnotationApplier.isText(document, "ab\ncx")).isFalse();
+        Assertions.assertThat(SonarLintAnnotationApplier.isText(document, "ab\n")).isFalse();
+    }
+
+    @Test
+    void prepareOutdatedWhenDocumentEditedSinceAnalysis() throws BadLocationException {
+        DefaultStyledDocument document = new DefaultStyledDocument();
+        document.insertString(0, "ab\ncd", null);
+        Assertions.assertThat(SonarLintAnnotationApplier.prepare(document, "ab\ncd", Collections.emptyList(), ruleKey -> Optional.empty()).isOutdated())
+            .isFalse();
+        Assertions.assertThat(SonarLintAnnotationApplier.prepare(document, null, Collections.emptyList(), ruleKey -> Optional.empty()).isOutdated())
+            .isFalse();
+        document.insertString(0, "// ", null);
+        Assertions.assertThat(SonarLintAnnotationApplier.prepare(document, "ab\ncd", Collections.emptyList(), ruleKey -> Optional.empty()).isOutdated())
+            .isTrue();
+    }
+}
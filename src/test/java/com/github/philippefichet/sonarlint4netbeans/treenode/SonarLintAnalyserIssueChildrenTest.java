@@ -0,0 +1,129 @@
+/*
+ * sonarlint4netbeans: SonarLint integration for Apache Netbeans
+ * Copyright (C) 2023 Philippe FICHET.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package com.github.philippefichet.sonarlint4netbeans.treenode;
+
+import com.github.philippefichet.sonarlint4netbeans.DefaultIssueTestImpl;
+import com.github.philippefichet.sonarlint4netbeans.FSClientInputFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import org.assertj.core.api.Assertions;
+import org.assertj.core.groups.Tuple;
+import org.junit.jupiter.api.Test;
+import org.sonarsource.sonarlint.core.analysis.api.ClientInputFile;
+import org.sonarsource.sonarlint.core.client.api.common.analysis.Issue;
+import org.sonarsource.sonarlint.core.commons.RuleType;
+
+/**
+ *
+ * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
+ */
+class SonarLintAnalyserIssueChildrenTest {
+
+    private final Path baseDirectory = Paths.get("./src/test/resources").toAbsolutePath();
+    // Files with the same name in different directories
+    private final ClientInputFile firstSame = toClientInputFile("a/Same.java");
+    private final ClientInputFile secondSame = toClientInputFile("b/Same.java");
+    private final ClientInputFile firstOther = toClientInputFile("a/Other.java");
+    private final ClientInputFile secondOther = toClientInputFile("b/Other.java");
+
+    @Test
+    void addIssuesSortedAndMergedByBatch() {
+        SonarLintAnalyserIssueChildren children = new SonarLintAnalyserIssueChildren(
+            new SonarLintAnalyserIssueFiles(),
+            "rule",
+            "MAJOR",
+            RuleType.CODE_SMELL
+        );
+        children.addIssues(Arrays.asList(
+            issue(secondSame, 10, 1),
+            issue(firstOther, 3, 0),
+            issue(null, 1, 0)
+        ));
+        assertNodes(children,
+            Tuple.tuple(null, 1, 0),
+            Tuple.tuple(firstOther.uri(), 3, 0),
+            Tuple.tuple(secondSame.uri(), 10, 1)
+        );
+
+        children.addIssues(Arrays.asList(
+            issue(firstSame, 5, 0),
+            issue(firstSame, null, null),
+            issue(secondSame, 2, 0),
+            issue(secondSame, 10, 1)
+        ));
+        children.addIssues(Arrays.asList(
+            issue(secondOther, 1, 4),
+            issue(firstOther, 1, 2),
+            issue(null, null, null)
+        ));
+        // Issues without file come first, issues without line come first in their file
+        assertNodes(children,
+            Tuple.tuple(null, null, null),
+            Tuple.tuple(null, 1, 0),
+            Tuple.tuple(firstOther.uri(), 1, 2),
+            Tuple.tuple(secondOther.uri(), 1, 4),
+            Tuple.tuple(firstOther.uri(), 3, 0),
+            Tuple.tuple(firstSame.uri(), null, null),
+            Tuple.tuple(secondSame.uri(), 2, 0),
+            Tuple.tuple(firstSame.uri(), 5, 0),
+            Tuple.tuple(secondSame.uri(), 10, 1),
+            Tuple.tuple(secondSame.uri(), 10, 1)
+        );
+        Assertions.assertThat(children.getIssuesCount()).isEqualTo(10);
+    }
+
+    @Test
+    void addIssuesWithoutIssue() {
+        SonarLintAnalyserIssueChildren children = new SonarLintAnalyserIssueChildren(
+            new SonarLintAnalyserIssueFiles(),
+            "rule",
+            "MAJOR",
+            RuleType.CODE_SMELL
+        );
+        children.addIssues(Arrays.asList(issue(firstSame, 2, 0)));
+        children.addIssues(Collections.emptyList());
+        assertNodes(children, Tuple.tuple(firstSame.uri(), 2, 0));
+        Assertions.assertThat(children.getIssuesCount()).isEqualTo(1);
+    }
+
+    private static void assertNodes(SonarLintAnalyserIssueChildren children, Tuple... expectedIssues) {
+        Assertions.assertThat(Arrays.stream(children.getNodes(true)).map(SonarLintAnalyserIssueNode.class::cast))
+            .extracting(
+                SonarLintAnalyserIssueNode::getFileURI,
+                SonarLintAnalyserIssueNode::getStartLine,
+                SonarLintAnalyserIssueNode::getStartLineOffset
+            ).containsExactly(expectedIssues);
+    }
+
+    private ClientInputFile toClientInputFile(String relativePath) {
+        return new FSClientInputFile(baseDirectory.resolve(relativePath), relativePath, false, StandardCharsets.UTF_8);
+    }
+
+    private static Issue issue(ClientInputFile clientInputFile, Integer startLine, Integer startLineOffset) {
+        return new DefaultIssueTestImpl.Builder()
+            .clientInputFile(clientInputFile)
+            .startLine(startLine)
+            .startLineOffset(startLineOffset)
+            .build();
+    }
+}